@@ -1,12 +1,19 @@
 package com.nmbsms.scholarship_management.admindashboard;
 import lombok.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
 import com.nmbsms.scholarship_management.signUp.NotSubmittedDTO;
 import com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO;
+import com.nmbsms.scholarship_management.signUp.StudentFilter;
+import com.nmbsms.scholarship_management.signUp.PaymentFilter;
 import java.util.List;
 import org.springframework.security.access.prepost.PreAuthorize;
 import com.nmbsms.scholarship_management.signUp.StudentResultDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
 
 
 @RestController
@@ -14,6 +21,8 @@ import com.nmbsms.scholarship_management.signUp.StudentResultDTO;
 @RequestMapping(path= "api/admin")
 public class AdmindasboardController {
     private final AdmindashboardService admindashboardService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final StudentExportService studentExportService;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
@@ -22,43 +31,109 @@ public class AdmindasboardController {
         return ResponseEntity.ok(dashboard);
     }
 
+    @GetMapping("/dashboard/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardCacheStatsDTO> getDashboardCacheStats() {
+        return ResponseEntity.ok(admindashboardService.getDashboardCacheStats());
+    }
+
+    @GetMapping("/dashboard/trend")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Admindashboard>> getDashboardTrend(
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(value = "granularity", required = false) SnapshotGranularity granularity) {
+        List<Admindashboard> trend = dashboardSnapshotService.getTrend(from, to, granularity);
+        return ResponseEntity.ok(trend);
+    }
+
     @GetMapping("/not-submitted-results")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<NotSubmittedDTO>> getNotSubmittedStudents() {
-        List<NotSubmittedDTO> notSubmitted = admindashboardService.getNotSubmitted();
+    public ResponseEntity<KeysetPage<NotSubmittedDTO>> getNotSubmittedStudents(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size) {
+        KeysetPage<NotSubmittedDTO> notSubmitted = admindashboardService.getNotSubmitted(cursor, size);
         return ResponseEntity.ok(notSubmitted);
     }
 
     @GetMapping("/students-with-results")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentResultDTO>> getSubmittedStudentAndStatus(
+    public ResponseEntity<KeysetPage<StudentResultDTO>> getSubmittedStudentAndStatus(
         @RequestParam(value = "batchNo", required = false) Integer batchNo,
-        @RequestParam(value = "status", required = false) String status
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size
     ){
-        List<StudentResultDTO> students = admindashboardService.getSubmittedStudentAndStatus(batchNo, status);
+        KeysetPage<StudentResultDTO> students = admindashboardService.getSubmittedStudentAndStatus(batchNo, status, cursor, size);
         return ResponseEntity.ok(students);
     }
 
     @GetMapping("/paid-fees-and-nhif")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentPaymentStatusDTO>> getStudentWithPaidFeeAndNhif(){
-        List<StudentPaymentStatusDTO> students = admindashboardService.getStudentWithPaidFeeAndNhif();
+    public ResponseEntity<KeysetPage<StudentPaymentStatusDTO>> getStudentWithPaidFeeAndNhif(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size){
+        KeysetPage<StudentPaymentStatusDTO> students = admindashboardService.getStudentWithPaidFeeAndNhif(cursor, size);
         return ResponseEntity.ok(students);
     }
 
     @GetMapping("/pending-payments")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentPaymentStatusDTO>> getStudentsWithPendingPayments(
-        @RequestParam(value = "filterType", required = false) String filterType) {
-        List<StudentPaymentStatusDTO> students = admindashboardService.getStudentsWithPendingPayments(filterType);
+    public ResponseEntity<KeysetPage<StudentPaymentStatusDTO>> getStudentsWithPendingPayments(
+        @RequestParam(value = "filterType", required = false) String filterType,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size) {
+        KeysetPage<StudentPaymentStatusDTO> students = admindashboardService.getStudentsWithPendingPayments(filterType, cursor, size);
         return ResponseEntity.ok(students);
     }
 
     @GetMapping("/unsubmitted-payments")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentPaymentStatusDTO>> getStudentsWithoutControlNumber(
-        @RequestParam(value="filterType", required= true) String filterType){
-        List<StudentPaymentStatusDTO> students= admindashboardService.getStudentsWithoutControlNumber(filterType);
+    public ResponseEntity<KeysetPage<StudentPaymentStatusDTO>> getStudentsWithoutControlNumber(
+        @RequestParam(value="filterType", required= true) String filterType,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size){
+        KeysetPage<StudentPaymentStatusDTO> students= admindashboardService.getStudentsWithoutControlNumber(filterType, cursor, size);
         return ResponseEntity.ok(students);
         }
+
+    @GetMapping("/students")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<StudentPaymentStatusDTO>> getStudents(
+        @RequestParam(value = "batchNo", required = false) Integer batchNo,
+        @RequestParam(value = "fee", required = false) String fee,
+        @RequestParam(value = "nhif", required = false) String nhif,
+        @RequestParam(value = "university", required = false) String university,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size) {
+        StudentFilter filter = StudentFilter.builder()
+            .batchNo(batchNo)
+            .fee(PaymentFilter.from(fee))
+            .nhif(PaymentFilter.from(nhif))
+            .universityName(university)
+            .build();
+        KeysetPage<StudentPaymentStatusDTO> students = admindashboardService.getStudents(filter, cursor, size);
+        return ResponseEntity.ok(students);
+    }
+
+    @GetMapping("/export/students")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestParam(value = "batchNo", required = false) Integer batchNo) {
+        switch (format.toLowerCase()) {
+            case "csv":
+                return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students.csv\"")
+                    .body(out -> studentExportService.writeCsv(batchNo, out));
+            case "ndjson":
+                return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students.ndjson\"")
+                    .body(out -> studentExportService.writeNdjson(batchNo, out));
+            default:
+                throw new IllegalArgumentException("Invalid export format: " + format);
+        }
+    }
 }
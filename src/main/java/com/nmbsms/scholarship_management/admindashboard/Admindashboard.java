@@ -1,6 +1,9 @@
 package com.nmbsms.scholarship_management.admindashboard;
 import lombok.*;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Getter
 @Setter
@@ -12,25 +15,18 @@ public class Admindashboard {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
+    private LocalDateTime capturedAt;
+    @Enumerated(EnumType.STRING)
+    private SnapshotGranularity granularity;
     private Integer totalStudents;
-    private Integer batch1;
-    private Integer batch2;
     private Integer totalSubmitted;
-    private Integer submittedBatch1;
-    private Integer submittedBatch2;
     private Integer totalNotSubmitted;
-    private Integer notSubmittedBatch1;
-    private Integer notSubmittedBatch2;
     private Integer totalSubmittedFeeControlNumber;
     private Integer totalSubmittedNhifControlNumber;
-    private Integer totalSubmittedFeeControlNumberBatch1;
-    private Integer totalSubmittedFeeControlNumberBatch2;
-    private Integer totalSubmittedNhifControlNumberBatch1;
-    private Integer totalSubmittedNhifControlNumberBatch2;
     private Integer totalNotSubmittedFeeControlNumber;
     private Integer totalNotSubmittedNhifControlNumber;
-    private Integer totalNotSubmittedFeeControlNumberBatch1;
-    private Integer totalNotSubmittedFeeControlNumberBatch2;
-    private Integer totalNotSubmittedNhifControlNumberBatch1;
-    private Integer totalNotSubmittedNhifControlNumberBatch2;
-}
\ No newline at end of file
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "admindashboard_batches", joinColumns = @JoinColumn(name = "dashboard_id"))
+    @MapKeyColumn(name = "batch_no")
+    private Map<Integer, BatchBreakdown> batches = new TreeMap<>();
+}
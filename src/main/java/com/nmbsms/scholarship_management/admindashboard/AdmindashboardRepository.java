@@ -1,9 +1,27 @@
 package com.nmbsms.scholarship_management.admindashboard;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface AdmindashboardRepository extends JpaRepository<Admindashboard, Long> {
-    
+    @EntityGraph(attributePaths = "batches")
+    List<Admindashboard> findByCapturedAtBetweenOrderByCapturedAtAsc(LocalDateTime from, LocalDateTime to);
+    @EntityGraph(attributePaths = "batches")
+    List<Admindashboard> findByGranularityAndCapturedAtBetweenOrderByCapturedAtAsc(SnapshotGranularity granularity, LocalDateTime from, LocalDateTime to);
+    List<Admindashboard> findByGranularityAndCapturedAtBeforeOrderByCapturedAtAsc(SnapshotGranularity granularity, LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM Admindashboard a WHERE a.granularity = :granularity AND a.capturedAt < :before")
+    int deleteExpired(@Param("granularity") SnapshotGranularity granularity, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM Admindashboard a WHERE a.capturedAt IS NULL")
+    int deleteUntimedSnapshots();
 }
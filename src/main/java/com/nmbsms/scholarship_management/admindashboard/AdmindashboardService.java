@@ -1,129 +1,153 @@
 package com.nmbsms.scholarship_management.admindashboard;
 import org.springframework.stereotype.Service;
 import com.nmbsms.scholarship_management.signUp.SignUpRepository;
-import com.nmbsms.scholarship_management.results.ResultsRepository;
 import lombok.*;
 import java.util.List;
 import com.nmbsms.scholarship_management.signUp.NotSubmittedDTO;
 import com.nmbsms.scholarship_management.signUp.StudentResultDTO;
+import com.nmbsms.scholarship_management.results.ResultStatus;
 import jakarta.persistence.EntityNotFoundException;
 import com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO;
+import com.nmbsms.scholarship_management.signUp.StudentFilter;
+import com.nmbsms.scholarship_management.signUp.PaymentFilter;
 
 
 @Service
 @RequiredArgsConstructor
 public class AdmindashboardService {
     private final SignUpRepository signUpRepository;
-    private final AdmindashboardRepository dashboardRepository;
-    private final ResultsRepository resultsRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final DashboardCache dashboardCache;
 
     public Admindashboard getDashboard() {
-        Integer totalStudents = signUpRepository.countTotalStudents();
-        Integer batch1 = signUpRepository.countBatch1();
-        Integer batch2 = signUpRepository.countBatch2();
-        Integer totalSubmitted = resultsRepository.countTotalStudents();
-        Integer submittedBatch1 = resultsRepository.countSubmittedBatch1();
-        Integer submittedBatch2 = resultsRepository.countSubmittedBatch2();
-        Integer totalNotSubmitted = signUpRepository.countNotSubmittedTotal();
-        Integer notSubmittedBatch1 = signUpRepository.countNotSubmittedBatch1();
-        Integer notSubmittedBatch2 = signUpRepository.countNotSubmittedBatch2();
+        return dashboardCache.get(this::buildDashboard);
+    }
 
+    public Admindashboard buildDashboard() {
         Admindashboard dashboard = new Admindashboard();
-        dashboard.setTotalStudents(totalStudents);
-        dashboard.setBatch1(batch1);
-        dashboard.setBatch2(batch2);
-        dashboard.setTotalSubmitted(totalSubmitted);
-        dashboard.setSubmittedBatch1(submittedBatch1);
-        dashboard.setSubmittedBatch2(submittedBatch2);
-        dashboard.setTotalNotSubmitted(totalNotSubmitted);
-        dashboard.setNotSubmittedBatch1(notSubmittedBatch1);
-        dashboard.setNotSubmittedBatch2(notSubmittedBatch2);
-        dashboard.setTotalSubmittedFeeControlNumber(signUpRepository.countTotalWithFeeControlNumber());
-        dashboard.setTotalSubmittedNhifControlNumber(signUpRepository.countTotalWithNhifControlNumberBatch2());
-        dashboard.setTotalSubmittedFeeControlNumberBatch1(signUpRepository.countTotalWithFeeControlNumberBatch1());
-        dashboard.setTotalSubmittedFeeControlNumberBatch2(signUpRepository.countTotalWithFeeControlNumberBatch2());
-        dashboard.setTotalSubmittedNhifControlNumberBatch1(signUpRepository.countTotalWithNhifControlNumberBatch1());
-        dashboard.setTotalSubmittedNhifControlNumberBatch2(signUpRepository.countTotalWithNhifControlNumberBatch2());
-        dashboard.setTotalNotSubmittedFeeControlNumber(signUpRepository.countTotalNotWithFeeControlNumber());
-        dashboard.setTotalNotSubmittedNhifControlNumber(signUpRepository.countTotalNotWithNhifControlNumber());
-        dashboard.setTotalNotSubmittedFeeControlNumberBatch1(signUpRepository.countTotalNotWithFeeControlNumberBatch1());
-        dashboard.setTotalNotSubmittedFeeControlNumberBatch2(signUpRepository.countTotalNotWithFeeControlNumberBatch2());
-        dashboard.setTotalNotSubmittedNhifControlNumberBatch1(signUpRepository.countTotalNotWithNhifControlNumberBatch1());
-        dashboard.setTotalNotSubmittedNhifControlNumberBatch2(signUpRepository.countTotaNotlWithNhifControlNumberBatch2());
-        dashboardRepository.save(dashboard);
+        DashboardCounter total = new DashboardCounter();
+        for (DashboardCounter batch : dashboardCounterService.getCounters()) {
+            dashboard.getBatches().put(batch.getBatchNo(), toBreakdown(batch));
+            total.setStudents(total.getStudents() + batch.getStudents());
+            total.setSubmitted(total.getSubmitted() + batch.getSubmitted());
+            total.setNotSubmitted(total.getNotSubmitted() + batch.getNotSubmitted());
+            total.setFeeControlNumbers(total.getFeeControlNumbers() + batch.getFeeControlNumbers());
+            total.setNhifControlNumbers(total.getNhifControlNumbers() + batch.getNhifControlNumbers());
+        }
+        BatchBreakdown totals = toBreakdown(total);
+        dashboard.setTotalStudents(totals.getStudents());
+        dashboard.setTotalSubmitted(totals.getSubmitted());
+        dashboard.setTotalNotSubmitted(totals.getNotSubmitted());
+        dashboard.setTotalSubmittedFeeControlNumber(totals.getSubmittedFeeControlNumber());
+        dashboard.setTotalSubmittedNhifControlNumber(totals.getSubmittedNhifControlNumber());
+        dashboard.setTotalNotSubmittedFeeControlNumber(totals.getNotSubmittedFeeControlNumber());
+        dashboard.setTotalNotSubmittedNhifControlNumber(totals.getNotSubmittedNhifControlNumber());
         return dashboard;
     }
 
-    public List<NotSubmittedDTO> getNotSubmitted() {
-        List<NotSubmittedDTO> notSubmitted=signUpRepository.findNotSubmitted();
+    private static BatchBreakdown toBreakdown(DashboardCounter counter) {
+        return BatchBreakdown.builder()
+            .students((int) counter.getStudents())
+            .submitted((int) counter.getSubmitted())
+            .notSubmitted((int) counter.getNotSubmitted())
+            .submittedFeeControlNumber((int) counter.getFeeControlNumbers())
+            .submittedNhifControlNumber((int) counter.getNhifControlNumbers())
+            .notSubmittedFeeControlNumber((int) (counter.getStudents() - counter.getFeeControlNumbers()))
+            .notSubmittedNhifControlNumber((int) (counter.getStudents() - counter.getNhifControlNumbers()))
+            .build();
+    }
+
+    public DashboardCacheStatsDTO getDashboardCacheStats() {
+        return dashboardCache.getStats();
+    }
+
+    public KeysetPage<NotSubmittedDTO> getNotSubmitted(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        List<NotSubmittedDTO> notSubmitted=signUpRepository.findNotSubmitted(after.getBatchNo(), after.getId(), KeysetCursor.limit(size));
         if(notSubmitted.isEmpty()){
             throw new EntityNotFoundException("No student who has not submitted results");
         }
-        return notSubmitted;
+        return KeysetCursor.page(notSubmitted, size, student -> new KeysetCursor(student.getBatchNo(), student.getId()));
     }
 
-    public List<StudentResultDTO> getSubmittedStudentAndStatus(Integer batchNo, String status) {
-        List <StudentResultDTO> studentsResults= signUpRepository.findStudentsWithResults(batchNo, status);
+    public KeysetPage<StudentResultDTO> getSubmittedStudentAndStatus(Integer batchNo, String status, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        List <StudentResultDTO> studentsResults= signUpRepository.findStudentsWithResults(batchNo, status == null ? null : ResultStatus.from(status), after.getBatchNo(), after.getId(), KeysetCursor.limit(size));
         if(studentsResults.isEmpty()){
             throw new EntityNotFoundException("No student found with submitted results");
         }
-        return studentsResults;
-        
+        return KeysetCursor.page(studentsResults, size, result -> new KeysetCursor(result.getBatchNo(), result.getResultId()));
     }
 
-    public List<StudentPaymentStatusDTO> getStudentWithPaidFeeAndNhif(){
-        List<StudentPaymentStatusDTO> studentsPayments= signUpRepository.getStudentWithPaidFeesAndNhif();
+    public KeysetPage<StudentPaymentStatusDTO> getStudentWithPaidFeeAndNhif(String cursor, int size){
+        StudentFilter filter = StudentFilter.builder().fee(PaymentFilter.PAID).nhif(PaymentFilter.PAID).build();
+        List<StudentPaymentStatusDTO> studentsPayments = findStudentPayments(filter, cursor, size);
         if (studentsPayments.isEmpty()){
             throw new EntityNotFoundException("No student found with paid fees and NHIF");
         }
-        return studentsPayments;
+        return paymentPage(studentsPayments, size);
     }
 
-    public List <StudentPaymentStatusDTO> getStudentsWithPendingPayments(String filterType){
-        List<StudentPaymentStatusDTO> students;
-        if (filterType == null || filterType.trim().isEmpty()) {
-            students = signUpRepository.getStudentsWithBothNull();
-        } else {
-            switch (filterType.toLowerCase()) {
-                case "both":
-                    students = signUpRepository.getStudentsWithBothPending();
-                    break;
-                case "fee":
-                    students = signUpRepository.getStudentsWithFeePending();
-                    break;
-                case "nhif":
-                    students = signUpRepository.getStudentsWithNhifPending();
-                    break;
-                default:
-                    students = signUpRepository.getStudentsWithBothNull();
-                    break;
-            }
+    public KeysetPage<StudentPaymentStatusDTO> getStudentsWithPendingPayments(String filterType, String cursor, int size){
+        StudentFilter.StudentFilterBuilder filter = StudentFilter.builder();
+        switch (filterType == null ? "" : filterType.trim().toLowerCase()) {
+            case "both":
+                filter.fee(PaymentFilter.PENDING).nhif(PaymentFilter.PENDING);
+                break;
+            case "fee":
+                filter.fee(PaymentFilter.PENDING).nhif(PaymentFilter.PAID);
+                break;
+            case "nhif":
+                filter.fee(PaymentFilter.PAID).nhif(PaymentFilter.PENDING);
+                break;
+            default:
+                filter.fee(PaymentFilter.NONE).nhif(PaymentFilter.NONE);
+                break;
         }
+        List<StudentPaymentStatusDTO> students = findStudentPayments(filter.build(), cursor, size);
         if (students.isEmpty()) {
             throw new EntityNotFoundException("No students found with pending payments for filterType: " + (filterType != null ? filterType : "none"));
         }
-        return students;
+        return paymentPage(students, size);
     }
 
-    public List<StudentPaymentStatusDTO> getStudentsWithoutControlNumber(String filterType){
-        List<StudentPaymentStatusDTO> students;
+    public KeysetPage<StudentPaymentStatusDTO> getStudentsWithoutControlNumber(String filterType, String cursor, int size){
+        StudentFilter.StudentFilterBuilder filter = StudentFilter.builder();
         switch(filterType.toLowerCase()){
             case "both":
-                students= signUpRepository.getStudentsWithBothNull();
+                filter.fee(PaymentFilter.NONE).nhif(PaymentFilter.NONE);
                 break;
             case "fee":
-                students= signUpRepository.getStudentsWithFeeNull();
+                filter.fee(PaymentFilter.NONE);
                 break;
             case "nhif":
-                students= signUpRepository.getStudentsWithNhifnull();
+                filter.nhif(PaymentFilter.NONE);
                 break;
             default:
             throw new IllegalArgumentException("Invalid filter type: " + filterType);
         }
+        List<StudentPaymentStatusDTO> students = findStudentPayments(filter.build(), cursor, size);
         if (students.isEmpty()){
             throw new EntityNotFoundException("No student with unsubmitted control number");
         }
-        return students;
+        return paymentPage(students, size);
     }
-}
 
+    public KeysetPage<StudentPaymentStatusDTO> getStudents(StudentFilter filter, String cursor, int size) {
+        List<StudentPaymentStatusDTO> students = findStudentPayments(filter, cursor, size);
+        if (students.isEmpty()) {
+            throw new EntityNotFoundException("No students match the given filters");
+        }
+        return paymentPage(students, size);
+    }
+
+    private List<StudentPaymentStatusDTO> findStudentPayments(StudentFilter filter, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        int limit = KeysetCursor.limit(size).getPageSize();
+        return signUpRepository.findStudentPayments(filter, after.getBatchNo(), after.getId(), limit);
+    }
+
+    private static KeysetPage<StudentPaymentStatusDTO> paymentPage(List<StudentPaymentStatusDTO> students, int size) {
+        return KeysetCursor.page(students, size, student -> new KeysetCursor(student.getBatchNo(), student.getId()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import lombok.*;
+import jakarta.persistence.Embeddable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Embeddable
+public class BatchBreakdown {
+    private Integer students;
+    private Integer submitted;
+    private Integer notSubmitted;
+    private Integer submittedFeeControlNumber;
+    private Integer submittedNhifControlNumber;
+    private Integer notSubmittedFeeControlNumber;
+    private Integer notSubmittedNhifControlNumber;
+}
@@ -0,0 +1,125 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * TTL cache for the admin dashboard. Concurrent misses share a single recompute, and any
+ * committed counter change drops the cached value.
+ */
+@Component
+public class DashboardCache {
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final AtomicReference<CompletableFuture<Admindashboard>> inFlight = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry cached;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder recomputes = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder recomputeNanos = new LongAdder();
+    private final AtomicLong maxRecomputeNanos = new AtomicLong();
+
+    public Admindashboard get(Supplier<Admindashboard> loader) {
+        Admindashboard value = fresh();
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        CompletableFuture<Admindashboard> mine = new CompletableFuture<>();
+        CompletableFuture<Admindashboard> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            value = fresh();
+            if (value == null) {
+                value = recompute(loader);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.compareAndSet(mine, null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardChanged(DashboardChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cached = null;
+        invalidations.increment();
+    }
+
+    public DashboardCacheStatsDTO getStats() {
+        long count = recomputes.sum();
+        return DashboardCacheStatsDTO.builder()
+            .hits(hits.sum())
+            .misses(misses.sum())
+            .recomputes(count)
+            .invalidations(invalidations.sum())
+            .averageRecomputeMillis(count == 0 ? 0 : recomputeNanos.sum() / (count * 1_000_000.0))
+            .maxRecomputeMillis(maxRecomputeNanos.get() / 1_000_000.0)
+            .build();
+    }
+
+    private Admindashboard fresh() {
+        Entry entry = cached;
+        if (entry != null && entry.generation == generation.get() && System.nanoTime() - entry.expiresAt < 0) {
+            return entry.value;
+        }
+        return null;
+    }
+
+    private Admindashboard recompute(Supplier<Admindashboard> loader) {
+        long startGeneration = generation.get();
+        long start = System.nanoTime();
+        Admindashboard value = loader.get();
+        long elapsed = System.nanoTime() - start;
+        recomputes.increment();
+        recomputeNanos.add(elapsed);
+        maxRecomputeNanos.accumulateAndGet(elapsed, Math::max);
+        if (generation.get() == startGeneration) {
+            cached = new Entry(value, start + TTL_NANOS, startGeneration);
+        }
+        return value;
+    }
+
+    private static Admindashboard await(CompletableFuture<Admindashboard> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final Admindashboard value;
+        private final long expiresAt;
+        private final long generation;
+
+        private Entry(Admindashboard value, long expiresAt, long generation) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+}
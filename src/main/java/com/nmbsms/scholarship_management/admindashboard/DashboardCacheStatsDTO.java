@@ -0,0 +1,16 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long recomputes;
+    private long invalidations;
+    private double averageRecomputeMillis;
+    private double maxRecomputeMillis;
+}
@@ -0,0 +1,4 @@
+package com.nmbsms.scholarship_management.admindashboard;
+
+public class DashboardChangedEvent {
+}
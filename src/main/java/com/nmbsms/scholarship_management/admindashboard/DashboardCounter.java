@@ -0,0 +1,19 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import lombok.*;
+import jakarta.persistence.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "dashboard_counters")
+public class DashboardCounter {
+    @Id
+    private Integer batchNo;
+    private long students;
+    private long submitted;
+    private long notSubmitted;
+    private long feeControlNumbers;
+    private long nhifControlNumbers;
+}
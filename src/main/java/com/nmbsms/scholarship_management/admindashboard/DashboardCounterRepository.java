@@ -0,0 +1,27 @@
+package com.nmbsms.scholarship_management.admindashboard;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, Integer> {
+
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counters (batch_no, students, submitted, not_submitted, fee_control_numbers, nhif_control_numbers) " +
+        "VALUES (:batchNo, :students, :submitted, :notSubmitted, :fee, :nhif) " +
+        "ON DUPLICATE KEY UPDATE students = students + :students, submitted = submitted + :submitted, " +
+        "not_submitted = not_submitted + :notSubmitted, fee_control_numbers = fee_control_numbers + :fee, " +
+        "nhif_control_numbers = nhif_control_numbers + :nhif", nativeQuery = true)
+    int adjust(@Param("batchNo") Integer batchNo, @Param("students") long students, @Param("submitted") long submitted,
+        @Param("notSubmitted") long notSubmitted, @Param("fee") long fee, @Param("nhif") long nhif);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM DashboardCounter c")
+    List<DashboardCounter> findAllForUpdate();
+}
@@ -0,0 +1,201 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.nmbsms.scholarship_management.results.ResultsRepository;
+import com.nmbsms.scholarship_management.results.ResultStatus;
+import com.nmbsms.scholarship_management.signUp.BatchCountsDTO;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-batch dashboard counters, adjusted as deltas inside the caller's write transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardCounterService {
+    public static final int UNASSIGNED_BATCH = 0;
+    private static final List<ResultStatus> SUBMISSION_STATUSES = List.of(ResultStatus.SUBMITTED, ResultStatus.REJECTED);
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounterService.class);
+
+    private final DashboardCounterRepository counterRepository;
+    private final SignUpRepository signUpRepository;
+    private final ResultsRepository resultsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void studentAdded(SignUp student) {
+        applyStudent(student, 1);
+    }
+
+    public void studentRemoved(SignUp student) {
+        applyStudent(student, -1);
+    }
+
+    /**
+     * Call before changing a student's results; pair with {@link #resultsAdded(SignUp)} afterwards.
+     * Locks the student row first so concurrent changes to one student's results are counted one
+     * after the other. Callers run at READ COMMITTED so the counts read after the lock include the
+     * previous writer's commit rather than the transaction's opening snapshot.
+     */
+    public void resultsRemoved(SignUp student) {
+        if (isStudent(student)) {
+            signUpRepository.lockForUpdate(List.of(student.getId()));
+        }
+        applyResults(student, -1);
+    }
+
+    public void resultsAdded(SignUp student) {
+        applyResults(student, 1);
+    }
+
+    public void controlNumberAdded(SignUp student, boolean isFeePayment) {
+        if (student != null) {
+            controlNumberAdded(student.getRole(), student.getBatchNo(), isFeePayment);
+        }
+    }
+
+    /** Variant for write paths that only read the columns they need instead of loading the student. */
+    public void controlNumberAdded(UserRoles role, Integer batchNo, boolean isFeePayment) {
+        if (role != UserRoles.STUDENT) {
+            return;
+        }
+        adjust(batchKey(batchNo), 0, 0, 0, isFeePayment ? 1 : 0, isFeePayment ? 0 : 1);
+    }
+
+    /**
+     * Locks the students and returns their result counts; pass to {@link #resultsChanged} after
+     * changing their results in bulk. Same locking rules as {@link #resultsRemoved(SignUp)}.
+     */
+    public List<BatchCountsDTO> snapshotResults(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
+        signUpRepository.lockForUpdate(studentIds);
+        return signUpRepository.countDashboardByBatchForStudents(studentIds);
+    }
+
+    public void resultsChanged(List<BatchCountsDTO> before, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, long[]> deltas = new HashMap<>();
+        for (BatchCountsDTO batch : signUpRepository.countDashboardByBatchForStudents(studentIds)) {
+            long[] delta = deltas.computeIfAbsent(batchKey(batch.getBatchNo()), key -> new long[2]);
+            delta[0] += batch.getSubmitted();
+            delta[1] += batch.getNotSubmitted();
+        }
+        for (BatchCountsDTO batch : before) {
+            long[] delta = deltas.computeIfAbsent(batchKey(batch.getBatchNo()), key -> new long[2]);
+            delta[0] -= batch.getSubmitted();
+            delta[1] -= batch.getNotSubmitted();
+        }
+        deltas.forEach((batchNo, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                adjust(batchNo, 0, delta[0], delta[1], 0, 0);
+            }
+        });
+    }
+
+    public List<DashboardCounter> getCounters() {
+        return counterRepository.findAll();
+    }
+
+    /**
+     * Recomputes every counter from scratch and overwrites the stored rows, logging any drift.
+     * The counter rows are locked first so writers that commit during the recount apply their
+     * deltas on top of the fresh values instead of being lost.
+     */
+    @Scheduled(fixedRate = 1000 * 60 * 60)
+    @Transactional
+    public void reconcile() {
+        Map<Integer, DashboardCounter> stored = new HashMap<>();
+        for (DashboardCounter counter : counterRepository.findAllForUpdate()) {
+            stored.put(counter.getBatchNo(), counter);
+        }
+        int drifted = 0;
+        for (BatchCountsDTO batch : signUpRepository.countDashboardByBatch()) {
+            DashboardCounter actual = new DashboardCounter(batchKey(batch.getBatchNo()), batch.getStudents(),
+                batch.getSubmitted(), batch.getNotSubmitted(), batch.getWithFeeControlNumber(), batch.getWithNhifControlNumber());
+            DashboardCounter previous = stored.remove(actual.getBatchNo());
+            if (previous == null || !sameCounts(previous, actual)) {
+                drifted++;
+                log.warn("Dashboard counters drifted for batch {}: stored {} actual {}",
+                    actual.getBatchNo(), describe(previous), describe(actual));
+            }
+            counterRepository.save(actual);
+        }
+        for (DashboardCounter orphan : stored.values()) {
+            drifted++;
+            log.warn("Dashboard counters drifted for batch {}: stored {} actual none", orphan.getBatchNo(), describe(orphan));
+            counterRepository.delete(orphan);
+        }
+        if (drifted > 0) {
+            eventPublisher.publishEvent(new DashboardChangedEvent());
+            log.warn("Reconciled dashboard counters, {} batch(es) had drifted.", drifted);
+        } else {
+            log.debug("Dashboard counters are in sync.");
+        }
+    }
+
+    private void applyStudent(SignUp student, int sign) {
+        if (!isStudent(student)) {
+            return;
+        }
+        adjust(batchKey(student.getBatchNo()), sign,
+            sign * submitted(student), sign * notSubmitted(student),
+            student.getFeeControlNumber() != null ? sign : 0,
+            student.getNhifControlNumber() != null ? sign : 0);
+    }
+
+    private void applyResults(SignUp student, int sign) {
+        if (!isStudent(student)) {
+            return;
+        }
+        adjust(batchKey(student.getBatchNo()), 0,
+            sign * submitted(student), sign * notSubmitted(student), 0, 0);
+    }
+
+    private int submitted(SignUp student) {
+        return resultsRepository.existsByUserAndStatus(student, ResultStatus.SUBMITTED) ? 1 : 0;
+    }
+
+    private int notSubmitted(SignUp student) {
+        return resultsRepository.existsByUserAndStatusIn(student, SUBMISSION_STATUSES) ? 0 : 1;
+    }
+
+    private void adjust(int batchNo, long students, long submitted, long notSubmitted, long fee, long nhif) {
+        counterRepository.adjust(batchNo, students, submitted, notSubmitted, fee, nhif);
+        eventPublisher.publishEvent(new DashboardChangedEvent());
+    }
+
+    private static boolean isStudent(SignUp user) {
+        return user != null && user.getRole() == UserRoles.STUDENT;
+    }
+
+    private static int batchKey(Integer batchNo) {
+        return batchNo == null ? UNASSIGNED_BATCH : batchNo;
+    }
+
+    private static boolean sameCounts(DashboardCounter a, DashboardCounter b) {
+        return a.getStudents() == b.getStudents() && a.getSubmitted() == b.getSubmitted()
+            && a.getNotSubmitted() == b.getNotSubmitted() && a.getFeeControlNumbers() == b.getFeeControlNumbers()
+            && a.getNhifControlNumbers() == b.getNhifControlNumbers();
+    }
+
+    private static String describe(DashboardCounter c) {
+        if (c == null) {
+            return "none";
+        }
+        return String.format("[students=%d, submitted=%d, notSubmitted=%d, fee=%d, nhif=%d]",
+            c.getStudents(), c.getSubmitted(), c.getNotSubmitted(), c.getFeeControlNumbers(), c.getNhifControlNumbers());
+    }
+}
@@ -0,0 +1,74 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotService {
+    private static final int HOURLY_RETENTION_DAYS = 7;
+    private static final int DAILY_RETENTION_DAYS = 365;
+    private static final Logger log = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private final AdmindashboardService admindashboardService;
+    private final AdmindashboardRepository dashboardRepository;
+
+    @Scheduled(cron = "0 0 * * * *")
+    public void captureHourlySnapshot() {
+        Admindashboard snapshot = admindashboardService.buildDashboard();
+        snapshot.setCapturedAt(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+        snapshot.setGranularity(SnapshotGranularity.HOURLY);
+        dashboardRepository.save(snapshot);
+    }
+
+    /**
+     * Collapses hourly snapshots past their retention into one daily snapshot per day (the last
+     * one taken that day, since every counter is a point-in-time gauge) and drops expired dailies.
+     */
+    @Scheduled(cron = "0 15 0 * * *")
+    @Transactional
+    public void downsample() {
+        LocalDateTime now = LocalDateTime.now();
+        int untimed = dashboardRepository.deleteUntimedSnapshots();
+
+        Map<LocalDate, List<Admindashboard>> hourlyByDay = new LinkedHashMap<>();
+        for (Admindashboard snapshot : dashboardRepository.findByGranularityAndCapturedAtBeforeOrderByCapturedAtAsc(
+                SnapshotGranularity.HOURLY, now.minusDays(HOURLY_RETENTION_DAYS).truncatedTo(ChronoUnit.DAYS))) {
+            hourlyByDay.computeIfAbsent(snapshot.getCapturedAt().toLocalDate(), day -> new ArrayList<>()).add(snapshot);
+        }
+        int collapsed = 0;
+        for (List<Admindashboard> day : hourlyByDay.values()) {
+            Admindashboard last = day.remove(day.size() - 1);
+            last.setGranularity(SnapshotGranularity.DAILY);
+            dashboardRepository.save(last);
+            dashboardRepository.deleteAll(day);
+            collapsed += day.size();
+        }
+        int expired = dashboardRepository.deleteExpired(SnapshotGranularity.DAILY, now.minusDays(DAILY_RETENTION_DAYS));
+        log.info("Downsampled dashboard snapshots: {} day(s) rolled up, {} hourly removed, {} daily expired, {} untimed removed.",
+            hourlyByDay.size(), collapsed, expired, untimed);
+    }
+
+    public List<Admindashboard> getTrend(LocalDateTime from, LocalDateTime to, SnapshotGranularity granularity) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(HOURLY_RETENTION_DAYS);
+        List<Admindashboard> snapshots = granularity == null
+            ? dashboardRepository.findByCapturedAtBetweenOrderByCapturedAtAsc(start, end)
+            : dashboardRepository.findByGranularityAndCapturedAtBetweenOrderByCapturedAtAsc(granularity, start, end);
+        if (snapshots.isEmpty()) {
+            throw new EntityNotFoundException("No dashboard snapshots found between " + start + " and " + end);
+        }
+        return snapshots;
+    }
+}
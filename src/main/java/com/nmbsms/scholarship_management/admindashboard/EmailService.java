@@ -4,6 +4,7 @@ import lombok.*;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.mail.SimpleMailMessage;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -18,5 +19,14 @@ public class EmailService {
         message.setText("Your result status has been updated to: " + status);
         mailSender.send(message);
     }
+
+    @Async
+    public void sendStatusSummary(String to, List<String> changes){
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject("Result Status Update");
+        message.setText("Your results have been reviewed:\n" + String.join("\n", changes));
+        mailSender.send(message);
+    }
     
 }
@@ -0,0 +1,61 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import lombok.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a list ordered by (batchNo, id), passed between requests as "batchNo:id".
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final KeysetCursor START = new KeysetCursor(null, null);
+
+    private final Integer batchNo;
+    private final Long id;
+
+    public static KeysetCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        String[] parts = cursor.split(":");
+        try {
+            if (parts.length == 2) {
+                return new KeysetCursor(Integer.valueOf(parts[0]), Long.valueOf(parts[1]));
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    /** Fetches one row past the page size so the caller can tell whether another page exists. */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, clamp(size) + 1);
+    }
+
+    public static <T> KeysetPage<T> page(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        int pageSize = clamp(size);
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(pageSize - 1)).toString());
+    }
+
+    private static int clamp(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return batchNo + ":" + id;
+    }
+}
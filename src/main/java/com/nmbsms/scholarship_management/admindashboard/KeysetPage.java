@@ -0,0 +1,13 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
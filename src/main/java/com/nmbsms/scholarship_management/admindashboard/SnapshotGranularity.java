@@ -0,0 +1,5 @@
+package com.nmbsms.scholarship_management.admindashboard;
+
+public enum SnapshotGranularity {
+    HOURLY, DAILY
+}
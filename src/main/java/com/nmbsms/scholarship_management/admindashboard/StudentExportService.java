@@ -0,0 +1,77 @@
+package com.nmbsms.scholarship_management.admindashboard;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.StudentExportRow;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes student payment/result status straight from a forward-only database cursor to the
+ * response, so memory use does not grow with the number of students exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentExportService {
+    private static final String CSV_HEADER = "id,name,email,phoneNumber,universityName,batchNo,"
+        + "feeControlNumber,feePaymentStatus,nhifControlNumber,nhifPaymentStatus,resultStatus";
+
+    private final SignUpRepository signUpRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeCsv(Integer batchNo, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try (Stream<StudentExportRow> rows = signUpRepository.streamForExport(batchNo)) {
+            Iterator<StudentExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                StudentExportRow row = iterator.next();
+                writer.write(csvLine(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(Integer batchNo, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<StudentExportRow> rows = signUpRepository.streamForExport(batchNo)) {
+            Iterator<StudentExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(objectMapper.writeValueAsString(iterator.next()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csvLine(StudentExportRow row) {
+        return String.join(",",
+            csv(row.getId()), csv(row.getName()), csv(row.getEmail()), csv(row.getPhoneNumber()),
+            csv(row.getUniversityName()), csv(row.getBatchNo()), csv(row.getFeeControlNumber()),
+            csv(row.getFeePaymentStatus()), csv(row.getNhifControlNumber()), csv(row.getNhifPaymentStatus()),
+            csv(row.getResultStatus()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
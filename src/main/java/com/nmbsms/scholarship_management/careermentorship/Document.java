@@ -1,5 +1,6 @@
 package com.nmbsms.scholarship_management.careermentorship;
 import lombok.*;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -24,5 +25,8 @@ public class Document {
     private String fileType;
 
     private long fileSize;
+
+    @Column(length = 64)
+    private String contentHash;
     
 }
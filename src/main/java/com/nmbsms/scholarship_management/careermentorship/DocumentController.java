@@ -3,7 +3,8 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import com.nmbsms.scholarship_management.storage.MultipartStreamReader;
+import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import java.util.List;
@@ -17,11 +18,12 @@ import java.io.File;
 @RequestMapping(path="/api/documents")
 public class DocumentController {
     private final DocumentService documentService;
+    private final MultipartStreamReader multipartStreamReader;
 
     @PostMapping("/admin/upload")
-    public ResponseEntity<String> uploadDocument(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<String> uploadDocument(HttpServletRequest request) {
         try {
-            Document document = documentService.saveDocument(file);
+            Document document = multipartStreamReader.readFile(request, "file", documentService::saveDocument);
             return ResponseEntity.status(HttpStatus.OK)
                     .body("File uploaded successfully with ID: " + document.getId());
         } catch (IOException e) {
@@ -1,10 +1,19 @@
 package com.nmbsms.scholarship_management.careermentorship;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     Optional<Document> findById(long id);
-    
+
+    @Query("SELECT DISTINCT d.contentHash FROM Document d WHERE d.contentHash IN :hashes")
+    List<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT d.filePath FROM Document d WHERE d.contentHash IS NULL AND d.filePath IN :paths")
+    List<String> findLegacyFilePaths(@Param("paths") Collection<String> paths);
 }
@@ -2,12 +2,11 @@ package com.nmbsms.scholarship_management.careermentorship;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.multipart.MultipartFile;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Paths;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import com.nmbsms.scholarship_management.storage.ContentStore;
+import com.nmbsms.scholarship_management.storage.StoredFile;
 import java.util.List;
 
 
@@ -15,24 +14,20 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DocumentService {
     private final DocumentRepository documentRepository;
+    private final ContentStore contentStore;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
 
-    public Document saveDocument(MultipartFile file) throws IOException {
-        File directory = new File(uploadDir);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
-        String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        Path filePath = Paths.get(uploadDir, fileName);
-        Files.copy(file.getInputStream(), filePath);
+    public Document saveDocument(String fileName, String contentType, InputStream in) throws IOException {
+        StoredFile stored = contentStore.store(Paths.get(uploadDir, "documents"), in);
 
         Document document = new Document();
-        document.setFilePath(filePath.toString());
+        document.setFilePath(stored.getPath().toString());
         document.setFileName(fileName);
-        document.setFileType(file.getContentType());
-        document.setFileSize(file.getSize());
+        document.setFileType(contentType);
+        document.setFileSize(stored.getSize());
+        document.setContentHash(stored.getHash());
         return documentRepository.save(document);
     }
 
@@ -58,10 +58,8 @@ public class AdminInitializer implements CommandLineRunner {
                 admin.setEnrolledYear(null);
                 admin.setEnrollmentStatus(null);
                 admin.setFeeControlNumber(null);
-                admin.setFeeControlNumberSubmittedAt(null);
                 admin.setFeePaymentStatus(null);
                 admin.setNhifControlNumber(null);
-                admin.setNhifControlNumberSubmittedAt(null);
                 admin.setNhifPaymentStatus(null);
                 admin.setSex(sex);
                 admin.setToken(null);
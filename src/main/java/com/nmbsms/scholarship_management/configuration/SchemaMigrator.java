@@ -0,0 +1,29 @@
+package com.nmbsms.scholarship_management.configuration;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+// Tables are still created by hibernate's ddl-auto, so migrations run once the
+// entity manager factory is up and only layer indexes and data fixes on top.
+// Flyway is not exposed as a bean, otherwise boot would order it before JPA.
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SchemaMigrator {
+
+    private final DataSource dataSource;
+
+    @PostConstruct
+    public void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+}
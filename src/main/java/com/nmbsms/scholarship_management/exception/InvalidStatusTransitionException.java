@@ -0,0 +1,14 @@
+package com.nmbsms.scholarship_management.exception;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    private final String errorCode;
+
+    public InvalidStatusTransitionException(Enum<?> from, Enum<?> to) {
+        super("Cannot change status from " + from + " to " + to);
+        this.errorCode = "INVALID_STATUS_TRANSITION";
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
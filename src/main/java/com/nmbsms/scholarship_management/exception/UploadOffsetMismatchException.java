@@ -0,0 +1,14 @@
+package com.nmbsms.scholarship_management.exception;
+
+public class UploadOffsetMismatchException extends RuntimeException {
+    private final String errorCode;
+
+    public UploadOffsetMismatchException(String message) {
+        super(message);
+        this.errorCode = "UPLOAD_OFFSET_MISMATCH";
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -14,6 +14,7 @@ import com.nmbsms.scholarship_management.announcements.Announcement;
 import org.springframework.data.domain.Page;
 import java.util.List;
 import com.nmbsms.scholarship_management.payment.PaymentHistoryDTO;
+import com.nmbsms.scholarship_management.payment.PaymentLedgerService;
 import java.util.Optional;
 import com.nmbsms.scholarship_management.signUp.SignUpService;
 
@@ -36,7 +37,7 @@ public class DashboardService {
         Page<Announcement> announcements=announcementService.getAllAnnouncements(0,3,0);
         dashboardData.put("announcements", announcements);
 
-        List<PaymentHistoryDTO> payments = paymentService.getPaymentHistory(email).getBody();
+        List<PaymentHistoryDTO> payments = paymentService.getPaymentHistory(signUp.get().getId(), null, PaymentLedgerService.DEFAULT_HISTORY_SIZE).getItems();
         dashboardData.put("payments", payments);
 
         List<String> resultStatus = resultService.getResultStatus(email);
@@ -0,0 +1,11 @@
+package com.nmbsms.scholarship_management.payment;
+
+public enum BulkUpdateOutcome {
+    UPDATED,
+    UNCHANGED,
+    INVALID_REQUEST,
+    NOT_FOUND,
+    NO_CONTROL_NUMBER,
+    INVALID_TRANSITION,
+    CONFLICT
+}
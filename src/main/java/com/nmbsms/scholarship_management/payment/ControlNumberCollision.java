@@ -0,0 +1,9 @@
+package com.nmbsms.scholarship_management.payment;
+
+public interface ControlNumberCollision {
+    String getControlNumber();
+    String getPaymentType();
+    Long getStudentId();
+    String getName();
+    String getEmail();
+}
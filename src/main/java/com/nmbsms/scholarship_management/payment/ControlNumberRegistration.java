@@ -0,0 +1,20 @@
+package com.nmbsms.scholarship_management.payment;
+import lombok.*;
+import jakarta.persistence.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "control_number_registry")
+public class ControlNumberRegistration {
+    @Id
+    @Column(length = 12)
+    private String controlNumber;
+    @Column(nullable = false)
+    private Long studentId;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8, nullable = false)
+    private PaymentType paymentType;
+}
@@ -0,0 +1,41 @@
+package com.nmbsms.scholarship_management.payment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ControlNumberRegistryRepository extends JpaRepository<ControlNumberRegistration, String> {
+
+    // Returns 0 instead of failing when the number is already registered, so the caller's transaction stays usable.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO control_number_registry (control_number, student_id, payment_type) " +
+        "VALUES (:controlNumber, :studentId, :paymentType)", nativeQuery = true)
+    int register(@Param("controlNumber") String controlNumber, @Param("studentId") Long studentId, @Param("paymentType") String paymentType);
+
+    @Modifying
+    @Query("DELETE FROM ControlNumberRegistration r WHERE r.controlNumber = :controlNumber AND r.studentId = :studentId AND r.paymentType = :paymentType")
+    int release(@Param("controlNumber") String controlNumber, @Param("studentId") Long studentId, @Param("paymentType") PaymentType paymentType);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.controlNumber FROM ControlNumberRegistration r")
+    Stream<String> streamAllControlNumbers();
+
+    @Query(value = "SELECT d.control_number AS controlNumber, d.payment_type AS paymentType, d.id AS studentId, d.name AS name, d.email AS email FROM (" +
+        "SELECT c.*, COUNT(*) OVER (PARTITION BY c.control_number) AS holders FROM (" +
+        "SELECT s.fee_control_number AS control_number, 'FEE' AS payment_type, s.id, s.name, s.email FROM sign_up s WHERE s.fee_control_number IS NOT NULL " +
+        "UNION ALL " +
+        "SELECT s.nhif_control_number, 'NHIF', s.id, s.name, s.email FROM sign_up s WHERE s.nhif_control_number IS NOT NULL) c) d " +
+        "WHERE d.holders > 1 ORDER BY d.control_number, d.id", nativeQuery = true)
+    List<ControlNumberCollision> findCollisions();
+}
@@ -0,0 +1,65 @@
+package com.nmbsms.scholarship_management.payment;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import lombok.RequiredArgsConstructor;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ControlNumberRegistryService {
+    private static final Logger logger = LoggerFactory.getLogger(ControlNumberRegistryService.class);
+
+    private final ControlNumberRegistryRepository registryRepository;
+    private final ControlNumberBloomFilter bloomFilter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadFilter() {
+        long loaded;
+        try (Stream<String> controlNumbers = registryRepository.streamAllControlNumbers()) {
+            loaded = controlNumbers.peek(bloomFilter::put).count();
+        }
+        bloomFilter.markReady();
+        logger.info("Loaded {} control numbers into the duplicate filter.", loaded);
+    }
+
+    /**
+     * Registers the number for the student, releasing the one it replaces.
+     * Returns false when another student, or the student's other payment type, already holds it.
+     */
+    @Transactional
+    public boolean claim(String controlNumber, Long studentId, PaymentType paymentType, String previousControlNumber) {
+        if (bloomFilter.mightContain(controlNumber)) {
+            Optional<ControlNumberRegistration> owner = registryRepository.findById(controlNumber);
+            if (owner.isPresent()) {
+                return isHeldBy(owner.get(), studentId, paymentType);
+            }
+        }
+        if (registryRepository.register(controlNumber, studentId, paymentType.name()) == 0) {
+            return registryRepository.findById(controlNumber)
+                .map(owner -> isHeldBy(owner, studentId, paymentType))
+                .orElse(false);
+        }
+        bloomFilter.put(controlNumber);
+        if (previousControlNumber != null && !previousControlNumber.equals(controlNumber)) {
+            registryRepository.release(previousControlNumber, studentId, paymentType);
+        }
+        return true;
+    }
+
+    public List<ControlNumberCollision> getCollisions() {
+        return registryRepository.findCollisions();
+    }
+
+    private static boolean isHeldBy(ControlNumberRegistration owner, Long studentId, PaymentType paymentType) {
+        return Objects.equals(owner.getStudentId(), studentId) && owner.getPaymentType() == paymentType;
+    }
+}
@@ -0,0 +1,213 @@
+package com.nmbsms.scholarship_management.payment;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.nmbsms.scholarship_management.settings.NotificationsService;
+import com.nmbsms.scholarship_management.settings.PaymentNotificationDTO;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import lombok.RequiredArgsConstructor;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentBulkUpdateService {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_ROWS = 10_000;
+
+    // The old status is part of the WHERE clause so a row changed since it was read is reported, not overwritten.
+    private static final String UPDATE_FEE =
+        "UPDATE sign_up SET fee_payment_status = ?, version = version + 1 WHERE id = ? AND COALESCE(fee_payment_status, 0) = ?";
+    private static final String UPDATE_NHIF =
+        "UPDATE sign_up SET nhif_payment_status = ?, version = version + 1 WHERE id = ? AND COALESCE(nhif_payment_status, 0) = ?";
+
+    private final SignUpRepository signUpRepository;
+    private final NotificationsService notificationsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentLedgerService paymentLedgerService;
+
+    public List<PaymentStatusUpdateResultDTO> updatePaymentStatuses(List<PaymentStatusUpdateDTO> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("No payment status updates supplied");
+        }
+        if (updates.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS + " payment status updates are allowed per request");
+        }
+        List<PaymentStatusUpdateResultDTO> results = new ArrayList<>(updates.size());
+        for (int from = 0; from < updates.size(); from += CHUNK_SIZE) {
+            List<PaymentStatusUpdateDTO> chunk = updates.subList(from, Math.min(from + CHUNK_SIZE, updates.size()));
+            List<PaymentNotificationDTO> notifications = new ArrayList<>();
+            results.addAll(transactionTemplate.execute(status -> applyChunk(chunk, notifications)));
+            notificationsService.notifyUsersOfPaymentStatusChange(notifications);
+        }
+        return results;
+    }
+
+    private List<PaymentStatusUpdateResultDTO> applyChunk(List<PaymentStatusUpdateDTO> chunk, List<PaymentNotificationDTO> notifications) {
+        Set<String> emails = chunk.stream()
+            .map(PaymentStatusUpdateDTO::getEmail)
+            .filter(email -> email != null)
+            .collect(Collectors.toSet());
+        Map<String, PaymentStateRow> states = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (PaymentStateRow row : signUpRepository.findPaymentStates(emails)) {
+                states.put(row.getEmail().toLowerCase(), row);
+            }
+        }
+
+        List<PaymentStatusUpdateResultDTO> results = new ArrayList<>(chunk.size());
+        List<PendingUpdate> feeUpdates = new ArrayList<>();
+        List<PendingUpdate> nhifUpdates = new ArrayList<>();
+        for (PaymentStatusUpdateDTO update : chunk) {
+            PaymentStatusUpdateResultDTO result = new PaymentStatusUpdateResultDTO(
+                update.getEmail(), update.getPaymentType(), update.getNewStatus(), null, null);
+            results.add(result);
+
+            String type = update.getPaymentType() == null ? "" : update.getPaymentType().trim();
+            boolean isFeePayment = type.equalsIgnoreCase("Fee");
+            if (!isFeePayment && !type.equalsIgnoreCase("Nhif")) {
+                reject(result, BulkUpdateOutcome.INVALID_REQUEST, "Invalid payment type");
+                continue;
+            }
+            PaymentStatus newStatus;
+            try {
+                newStatus = PaymentStatus.from(update.getNewStatus());
+            } catch (IllegalArgumentException e) {
+                reject(result, BulkUpdateOutcome.INVALID_REQUEST, e.getMessage());
+                continue;
+            }
+            PaymentStateRow state = update.getEmail() == null ? null : states.get(update.getEmail().toLowerCase());
+            if (state == null) {
+                reject(result, BulkUpdateOutcome.NOT_FOUND, "User not found");
+                continue;
+            }
+            String controlNumber = isFeePayment ? state.getFeeControlNumber() : state.getNhifControlNumber();
+            if (controlNumber == null) {
+                reject(result, BulkUpdateOutcome.NO_CONTROL_NUMBER,
+                    "No " + (isFeePayment ? "fee" : "nhif") + " control number submitted for this user");
+                continue;
+            }
+            PaymentStatus oldStatus = isFeePayment ? state.getFeePaymentStatus() : state.getNhifPaymentStatus();
+            if (oldStatus == newStatus) {
+                reject(result, BulkUpdateOutcome.UNCHANGED, null);
+                continue;
+            }
+            if (oldStatus != null && !oldStatus.canTransitionTo(newStatus)) {
+                reject(result, BulkUpdateOutcome.INVALID_TRANSITION, "Cannot change status from " + oldStatus + " to " + newStatus);
+                continue;
+            }
+            // Later rows for the same student see this change, matching the order the statements run in.
+            if (isFeePayment) {
+                state.setFeePaymentStatus(newStatus);
+                feeUpdates.add(new PendingUpdate(result, state, PaymentType.FEE, oldStatus, newStatus));
+            } else {
+                state.setNhifPaymentStatus(newStatus);
+                nhifUpdates.add(new PendingUpdate(result, state, PaymentType.NHIF, oldStatus, newStatus));
+            }
+        }
+
+        List<PaymentEvent> events = new ArrayList<>();
+        execute(UPDATE_FEE, feeUpdates, events, notifications);
+        execute(UPDATE_NHIF, nhifUpdates, events, notifications);
+        if (!events.isEmpty()) {
+            paymentLedgerService.recordStatusChanges(events);
+        }
+        return results;
+    }
+
+    private void execute(String sql, List<PendingUpdate> updates, List<PaymentEvent> events, List<PaymentNotificationDTO> notifications) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(sql, updates, updates.size(), (ps, update) -> {
+            ps.setInt(1, update.newStatus.getCode());
+            ps.setLong(2, update.state.getId());
+            ps.setInt(3, update.oldStatus == null ? 0 : update.oldStatus.getCode());
+        });
+        int[] rowCounts = counts.length == 0 ? new int[0] : counts[0];
+        Set<Long> applied = appliedWithoutCount(updates, rowCounts);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < updates.size(); i++) {
+            PendingUpdate update = updates.get(i);
+            boolean updated = rowCounts[i] == Statement.SUCCESS_NO_INFO ? applied.contains(update.state.getId()) : rowCounts[i] > 0;
+            if (!updated) {
+                reject(update.result, BulkUpdateOutcome.CONFLICT, "Payment status was changed by another request");
+                continue;
+            }
+            update.result.setOutcome(BulkUpdateOutcome.UPDATED);
+            boolean isFee = update.paymentType == PaymentType.FEE;
+            events.add(PaymentEvent.builder()
+                .studentId(update.state.getId())
+                .paymentType(update.paymentType)
+                .eventType(PaymentEventType.STATUS_CHANGED)
+                .controlNumber(isFee ? update.state.getFeeControlNumber() : update.state.getNhifControlNumber())
+                .status(update.newStatus)
+                .createdAt(now)
+                .build());
+            if (update.oldStatus != PaymentStatus.PAID && update.newStatus == PaymentStatus.PAID) {
+                notifications.add(new PaymentNotificationDTO(update.state.getId(), update.state.getEmail(),
+                    isFee ? "University Fee Payment" : "NHIF Payment"));
+            }
+        }
+    }
+
+    // With rewriteBatchedStatements the driver may answer SUCCESS_NO_INFO instead of a row count. Re-read those
+    // students: this transaction holds the rows it changed, so a student whose status is now the last one queued
+    // for it was updated, and one still showing anything else was changed by another request first.
+    private Set<Long> appliedWithoutCount(List<PendingUpdate> updates, int[] rowCounts) {
+        Set<Long> unknown = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (rowCounts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(updates.get(i).state.getId());
+            }
+        }
+        if (unknown.isEmpty()) {
+            return Set.of();
+        }
+        Map<Long, PaymentStatus> expected = new HashMap<>();
+        for (PendingUpdate update : updates) {
+            if (unknown.contains(update.state.getId())) {
+                expected.put(update.state.getId(), update.newStatus);
+            }
+        }
+        Set<Long> applied = new HashSet<>();
+        for (PaymentStateRow current : signUpRepository.findPaymentStatesByIds(expected.keySet())) {
+            PaymentStatus status = updates.get(0).paymentType == PaymentType.FEE
+                ? current.getFeePaymentStatus() : current.getNhifPaymentStatus();
+            if (status == expected.get(current.getId())) {
+                applied.add(current.getId());
+            }
+        }
+        return applied;
+    }
+
+    private static void reject(PaymentStatusUpdateResultDTO result, BulkUpdateOutcome outcome, String message) {
+        result.setOutcome(outcome);
+        result.setMessage(message);
+    }
+
+    private static class PendingUpdate {
+        private final PaymentStatusUpdateResultDTO result;
+        private final PaymentStateRow state;
+        private final PaymentType paymentType;
+        private final PaymentStatus oldStatus;
+        private final PaymentStatus newStatus;
+
+        PendingUpdate(PaymentStatusUpdateResultDTO result, PaymentStateRow state, PaymentType paymentType, PaymentStatus oldStatus, PaymentStatus newStatus) {
+            this.result = result;
+            this.state = state;
+            this.paymentType = paymentType;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+        }
+    }
+}
@@ -6,7 +6,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import lombok.RequiredArgsConstructor;
 import java.util.List;
-import java.util.Comparator;
+import java.io.IOException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+import com.nmbsms.scholarship_management.admindashboard.KeysetPage;
+import com.nmbsms.scholarship_management.storage.MultipartStreamReader;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 @RestController
@@ -14,6 +19,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 @RequestMapping(path="/api/payment")
 public class PaymentController {
     private final PaymentService paymentService;
+    private final PaymentBulkUpdateService paymentBulkUpdateService;
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final ControlNumberRegistryService controlNumberRegistryService;
+    private final MultipartStreamReader multipartStreamReader;
 
     @PostMapping("/submit-fee")
     public ResponseEntity<String> submitFeeControlNumber(@RequestBody PaymentDTO paymentDTO) {
@@ -36,18 +45,23 @@ public class PaymentController {
     }
 
     @GetMapping("/history")
-    public ResponseEntity<List<PaymentHistoryDTO>> getPaymentHistory() {
+    public ResponseEntity<KeysetPage<PaymentHistoryDTO>> getPaymentHistory(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        WebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(null);
         }
-        String email = authentication.getName();
-        ResponseEntity<List<PaymentHistoryDTO>> response = paymentService.getPaymentHistory(email);
-        List<PaymentHistoryDTO> paymentHistory = response.getBody();
-        if (paymentHistory != null) {
-            paymentHistory.sort(Comparator.comparing(PaymentHistoryDTO::getCreatedAt).reversed());
+        Long studentId = paymentService.getStudentId(authentication.getName());
+        String etag = paymentService.getPaymentHistoryTag(studentId, cursor, size);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return response;
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(paymentService.getPaymentHistory(studentId, cursor, size));
     }
 
     @PostMapping("/update-status")
@@ -55,4 +69,23 @@ public class PaymentController {
     public ResponseEntity<String> updatePaymentStatus(@RequestParam String email, @RequestParam String paymentType, @RequestParam String newStatus) {
         return paymentService.updatePaymentStatus(email, paymentType, newStatus);
 }
+
+    @PostMapping("/update-status/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PaymentStatusUpdateResultDTO>> updatePaymentStatuses(@RequestBody List<PaymentStatusUpdateDTO> updates) {
+        return ResponseEntity.ok(paymentBulkUpdateService.updatePaymentStatuses(updates));
+    }
+
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationSummaryDTO> reconcilePaidControlNumbers(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(multipartStreamReader.readFile(request, "file", paymentReconciliationService.getMaxFileSize(),
+            (fileName, contentType, in) -> paymentReconciliationService.reconcile(in)));
+    }
+
+    @GetMapping("/control-numbers/collisions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ControlNumberCollision>> getControlNumberCollisions() {
+        return ResponseEntity.ok(controlNumberRegistryService.getCollisions());
+    }
 }
\ No newline at end of file
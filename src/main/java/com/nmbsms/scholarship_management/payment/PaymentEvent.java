@@ -0,0 +1,32 @@
+package com.nmbsms.scholarship_management.payment;
+import lombok.*;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@Table(name = "payment_events")
+public class PaymentEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long studentId;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8, nullable = false)
+    private PaymentType paymentType;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32, nullable = false)
+    private PaymentEventType eventType;
+    @Column(length = 12)
+    private String controlNumber;
+    @Column(columnDefinition = "TINYINT")
+    private PaymentStatus status;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
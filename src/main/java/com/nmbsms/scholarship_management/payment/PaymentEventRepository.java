@@ -0,0 +1,18 @@
+package com.nmbsms.scholarship_management.payment;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long> {
+
+    @Query("SELECT e FROM PaymentEvent e WHERE e.studentId = :studentId AND (:beforeId IS NULL OR e.id < :beforeId) ORDER BY e.id DESC")
+    List<PaymentEvent> findHistory(@Param("studentId") Long studentId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT MAX(e.id) FROM PaymentEvent e WHERE e.studentId = :studentId")
+    Long findLatestEventId(@Param("studentId") Long studentId);
+}
@@ -0,0 +1,5 @@
+package com.nmbsms.scholarship_management.payment;
+
+public enum PaymentEventType {
+    CONTROL_NUMBER_SUBMITTED, STATUS_CHANGED
+}
@@ -10,7 +10,8 @@ public class PaymentHistoryDTO {
     private String type;
     private String controlNumber;
     private String createdAt;
-    private String status;
+    private PaymentStatus status;
     private String description;
+    private PaymentEventType event;
     
 }
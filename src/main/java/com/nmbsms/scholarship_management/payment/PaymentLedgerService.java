@@ -0,0 +1,94 @@
+package com.nmbsms.scholarship_management.payment;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import com.nmbsms.scholarship_management.admindashboard.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Append-only record of control number submissions and status changes. Event ids never change,
+ * so they double as history entry ids and as the version behind the history ETag.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentLedgerService {
+    public static final int DEFAULT_HISTORY_SIZE = 20;
+    public static final int MAX_HISTORY_SIZE = 100;
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void recordSubmission(Long studentId, PaymentType paymentType, String controlNumber) {
+        paymentEventRepository.save(new PaymentEvent(null, studentId, paymentType, PaymentEventType.CONTROL_NUMBER_SUBMITTED,
+            controlNumber, PaymentStatus.UNPAID, LocalDateTime.now()));
+    }
+
+    public void recordStatusChange(Long studentId, PaymentType paymentType, String controlNumber, PaymentStatus status) {
+        paymentEventRepository.save(new PaymentEvent(null, studentId, paymentType, PaymentEventType.STATUS_CHANGED,
+            controlNumber, status, LocalDateTime.now()));
+    }
+
+    public void recordStatusChanges(List<PaymentEvent> events) {
+        jdbcTemplate.batchUpdate("INSERT INTO payment_events (student_id, payment_type, event_type, control_number, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)", events, events.size(), (ps, event) -> {
+                ps.setLong(1, event.getStudentId());
+                ps.setString(2, event.getPaymentType().name());
+                ps.setString(3, event.getEventType().name());
+                ps.setString(4, event.getControlNumber());
+                ps.setInt(5, event.getStatus().getCode());
+                ps.setTimestamp(6, Timestamp.valueOf(event.getCreatedAt()));
+            });
+    }
+
+    public KeysetPage<PaymentHistoryDTO> getHistory(Long studentId, String cursor, int size) {
+        int pageSize = clamp(size);
+        List<PaymentEvent> events = paymentEventRepository.findHistory(studentId, parseCursor(cursor), PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            nextCursor = String.valueOf(events.get(pageSize - 1).getId());
+        }
+        return new KeysetPage<>(events.stream().map(PaymentLedgerService::toHistory).toList(), nextCursor);
+    }
+
+    public String getHistoryTag(Long studentId, String cursor, int size) {
+        Long latest = paymentEventRepository.findLatestEventId(studentId);
+        return "W/\"" + studentId + "-" + (latest == null ? 0 : latest) + "-" + (cursor == null ? "" : cursor) + "-" + clamp(size) + "\"";
+    }
+
+    private static PaymentHistoryDTO toHistory(PaymentEvent event) {
+        boolean isFee = event.getPaymentType() == PaymentType.FEE;
+        return new PaymentHistoryDTO(
+            String.valueOf(event.getId()),
+            isFee ? "Fee Control Number" : "Nhif Control Number",
+            event.getControlNumber(),
+            event.getCreatedAt().format(ISO_FORMATTER),
+            event.getStatus(),
+            isFee ? "University Fee Payment" : "NHIF Payment",
+            event.getEventType());
+    }
+
+    private static Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static int clamp(int size) {
+        if (size <= 0) {
+            return DEFAULT_HISTORY_SIZE;
+        }
+        return Math.min(size, MAX_HISTORY_SIZE);
+    }
+}
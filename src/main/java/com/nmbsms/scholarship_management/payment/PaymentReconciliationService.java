@@ -0,0 +1,116 @@
+package com.nmbsms.scholarship_management.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import lombok.RequiredArgsConstructor;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationService {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_UNMATCHED = 1000;
+
+    private final SignUpRepository signUpRepository;
+    private final PaymentBulkUpdateService paymentBulkUpdateService;
+
+    @Value("${payments.reconcile.max-file-size:200MB}")
+    private DataSize maxFileSize;
+
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Marks every fee or NHIF control number listed in the first column of the CSV as PAID.
+     * The file is read line by line and applied in chunks, so its size is not bounded by memory.
+     */
+    public ReconciliationSummaryDTO reconcile(InputStream csv) throws IOException {
+        ReconciliationSummaryDTO summary = new ReconciliationSummaryDTO();
+        Set<String> chunk = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                summary.setLinesRead(summary.getLinesRead() + 1);
+                String controlNumber = firstColumn(line);
+                if (!PaymentService.CONTROL_NUMBER_PATTERN.matcher(controlNumber).matches()) {
+                    // A non-numeric first line is the header.
+                    if (summary.getLinesRead() > 1 || controlNumber.chars().anyMatch(Character::isDigit)) {
+                        summary.setInvalidLines(summary.getInvalidLines() + 1);
+                    }
+                    continue;
+                }
+                chunk.add(controlNumber);
+                if (chunk.size() == CHUNK_SIZE) {
+                    apply(chunk, summary);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            apply(chunk, summary);
+        }
+        return summary;
+    }
+
+    private void apply(Set<String> controlNumbers, ReconciliationSummaryDTO summary) {
+        Set<String> matched = new HashSet<>();
+        List<PaymentStatusUpdateDTO> updates = new ArrayList<>();
+        for (PaymentStateRow row : signUpRepository.findPaymentStatesByFeeControlNumbers(controlNumbers)) {
+            matched.add(row.getFeeControlNumber());
+            updates.add(new PaymentStatusUpdateDTO(row.getEmail(), "Fee", PaymentStatus.PAID.name()));
+        }
+        for (PaymentStateRow row : signUpRepository.findPaymentStatesByNhifControlNumbers(controlNumbers)) {
+            matched.add(row.getNhifControlNumber());
+            updates.add(new PaymentStatusUpdateDTO(row.getEmail(), "Nhif", PaymentStatus.PAID.name()));
+        }
+        for (String controlNumber : controlNumbers) {
+            if (!matched.contains(controlNumber)) {
+                summary.setUnmatchedCount(summary.getUnmatchedCount() + 1);
+                if (summary.getUnmatchedControlNumbers().size() < MAX_REPORTED_UNMATCHED) {
+                    summary.getUnmatchedControlNumbers().add(controlNumber);
+                }
+            }
+        }
+        summary.setMatched(summary.getMatched() + matched.size());
+        if (updates.isEmpty()) {
+            return;
+        }
+        for (PaymentStatusUpdateResultDTO result : paymentBulkUpdateService.updatePaymentStatuses(updates)) {
+            switch (result.getOutcome()) {
+                case UPDATED:
+                    summary.setMarkedPaid(summary.getMarkedPaid() + 1);
+                    break;
+                case UNCHANGED:
+                    summary.setAlreadyPaid(summary.getAlreadyPaid() + 1);
+                    break;
+                default:
+                    summary.setFailed(summary.getFailed() + 1);
+                    break;
+            }
+        }
+    }
+
+    private static String firstColumn(String line) {
+        int comma = line.indexOf(',');
+        String value = (comma < 0 ? line : line.substring(0, comma)).trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+}
@@ -2,20 +2,19 @@ package com.nmbsms.scholarship_management.payment;
 
 import org.springframework.stereotype.Service;
 import org.springframework.http.HttpStatus;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import com.nmbsms.scholarship_management.signUp.SignUpRepository;
-import java.util.UUID;
+import com.nmbsms.scholarship_management.admindashboard.KeysetPage;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import com.nmbsms.scholarship_management.settings.NotificationsService;
 import com.nmbsms.scholarship_management.signUp.SignUp;
-import java.util.ArrayList;
-import java.time.format.DateTimeFormatter;
+import com.nmbsms.scholarship_management.admindashboard.DashboardCounterService;
+import com.nmbsms.scholarship_management.exception.InvalidStatusTransitionException;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
-import java.time.LocalDateTime;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +22,10 @@ public class PaymentService {
 
     private final NotificationsService notificationsService;
     private final SignUpRepository signUpRepository;
-    private static final Pattern CONTROL_NUMBER_PATTERN = Pattern.compile("^\\d{12}$");
-    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    private final DashboardCounterService dashboardCounterService;
+    private final ControlNumberRegistryService controlNumberRegistryService;
+    private final PaymentLedgerService paymentLedgerService;
+    static final Pattern CONTROL_NUMBER_PATTERN = Pattern.compile("^\\d{12}$");
 
 
 
@@ -41,19 +42,23 @@ public class PaymentService {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Fee control number must be exactly 12 digits.");
         }
-        Optional<SignUp> userOptional = signUpRepository.findByEmail(email);
-        if (!userOptional.isPresent()) {
-            throw new EntityNotFoundException("User not Found");
+        SubmissionStateRow state = signUpRepository.findSubmissionState(email)
+            .orElseThrow(() -> new EntityNotFoundException("User not Found"));
+        // Resubmitting resets the status to UNPAID, which a settled payment may not go back to.
+        checkTransition(state.getFeePaymentStatus(), PaymentStatus.UNPAID);
+        String previousNumber = state.getFeeControlNumber();
+        if (!controlNumberRegistryService.claim(feeControlNumber, state.getId(), PaymentType.FEE, previousNumber)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Fee control number is already in use.");
         }
-
-        Optional<SignUp> controlNumber = signUpRepository.findByEmail(email);
-        if (controlNumber.isPresent()) {
-            SignUp signUp = controlNumber.get();
-            signUp.setFeeControlNumber(paymentDTO.getFeeControlNumber());
-            signUp.setFeeControlNumberSubmittedAt(LocalDateTime.now());
-            signUp.setFeePaymentStatus("UNPAID");
-            signUpRepository.save(signUp);
+        // The version check turns a concurrent write to this row into a rollback of the claim above.
+        if (signUpRepository.submitFeeControlNumber(email, state.getVersion(), feeControlNumber) == 0) {
+            throw new OptimisticLockingFailureException("Payment details were changed by another request, please retry");
+        }
+        if (previousNumber == null) {
+            dashboardCounterService.controlNumberAdded(state.getRole(), state.getBatchNo(), true);
         }
+        paymentLedgerService.recordSubmission(state.getId(), PaymentType.FEE, feeControlNumber);
         return ResponseEntity.ok("University fee control number submitted successfully");
     }
 
@@ -68,74 +73,60 @@ public class PaymentService {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("NHIF control number must be exactly 12 digits.");
         }
-        Optional<SignUp> userOptional = signUpRepository.findByEmail(email);
-        if (!userOptional.isPresent()) {
-            throw new EntityNotFoundException("User not found");
+        SubmissionStateRow state = signUpRepository.findSubmissionState(email)
+            .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        checkTransition(state.getNhifPaymentStatus(), PaymentStatus.UNPAID);
+        String previousNumber = state.getNhifControlNumber();
+        if (!controlNumberRegistryService.claim(nhifControlNumber, state.getId(), PaymentType.NHIF, previousNumber)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("NHIF control number is already in use.");
         }
-
-        Optional<SignUp> controlNumber = signUpRepository.findByEmail(email);
-        if (controlNumber.isPresent()) {
-            SignUp signUp = controlNumber.get();
-            signUp.setNhifControlNumber(paymentDTO.getNhifControlNumber());
-            signUp.setNhifControlNumberSubmittedAt(LocalDateTime.now());
-            signUp.setNhifPaymentStatus("UNPAID");
-            signUpRepository.save(signUp);
+        if (signUpRepository.submitNhifControlNumber(email, state.getVersion(), nhifControlNumber) == 0) {
+            throw new OptimisticLockingFailureException("Payment details were changed by another request, please retry");
         }
+        if (previousNumber == null) {
+            dashboardCounterService.controlNumberAdded(state.getRole(), state.getBatchNo(), false);
+        }
+        paymentLedgerService.recordSubmission(state.getId(), PaymentType.NHIF, nhifControlNumber);
         return ResponseEntity.ok("Nhif control number submitted successfully");
     }
 
-    public ResponseEntity<List<PaymentHistoryDTO>> getPaymentHistory(String email) {
-        Optional<SignUp> userOptional = signUpRepository.findByEmail(email);
-        if (!userOptional.isPresent()) {
-            throw new EntityNotFoundException("User not found");
-        }
-        SignUp signUp = userOptional.get();
-        List<PaymentHistoryDTO> paymentHistory = new ArrayList<>();
-        if(signUp.getFeeControlNumber() != null){
-            String createdAt = signUp.getFeeControlNumberSubmittedAt().format(ISO_FORMATTER);
-            paymentHistory.add(new PaymentHistoryDTO(
-                UUID.randomUUID().toString(),
-                "Fee Control Number",
-                signUp.getFeeControlNumber(),
-                createdAt,
-                signUp.getFeePaymentStatus(),
-                "University Fee Payment"
-            ));
-        }
-        if(signUp.getNhifControlNumber() != null){
-            String createdAt = signUp.getNhifControlNumberSubmittedAt().format(ISO_FORMATTER);
-            paymentHistory.add(new PaymentHistoryDTO(
-                UUID.randomUUID().toString(),
-                "Nhif Control Number",
-                signUp.getNhifControlNumber(),
-                createdAt,
-                signUp.getNhifPaymentStatus(),
-                "NHIF Payment"
-            ));
-        }
-        return ResponseEntity.ok(paymentHistory);
+    public Long getStudentId(String email) {
+        return signUpRepository.findIdByEmail(email)
+            .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    }
+
+    public KeysetPage<PaymentHistoryDTO> getPaymentHistory(Long studentId, String cursor, int size) {
+        return paymentLedgerService.getHistory(studentId, cursor, size);
+    }
+
+    public String getPaymentHistoryTag(Long studentId, String cursor, int size) {
+        return paymentLedgerService.getHistoryTag(studentId, cursor, size);
     }
 
     @Transactional
-    public ResponseEntity<String> updatePaymentStatus(String email, String paymentType, String newStatus) {
+    public ResponseEntity<String> updatePaymentStatus(String email, String paymentType, String status) {
+        PaymentStatus newStatus = PaymentStatus.from(status);
         Optional<SignUp> userOptional = signUpRepository.findByEmail(email);
         if(!userOptional.isPresent()){
             throw new EntityNotFoundException("User not found");
         }
         SignUp signUp = userOptional.get();
         boolean isFeePayment = paymentType.equalsIgnoreCase("Fee");
-        String oldStatus;
+        PaymentStatus oldStatus;
         if(isFeePayment){
             if(signUp.getFeeControlNumber() == null){
                 throw new EntityNotFoundException("No fee control number submitted for this user");
             }
             oldStatus = signUp.getFeePaymentStatus();
+            checkTransition(oldStatus, newStatus);
             signUp.setFeePaymentStatus(newStatus);
         }else if(paymentType.equalsIgnoreCase("Nhif")){
             if(signUp.getNhifControlNumber() == null){
                 throw new EntityNotFoundException("No nhif control number submitted for this user");
             }
             oldStatus = signUp.getNhifPaymentStatus();
+            checkTransition(oldStatus, newStatus);
             signUp.setNhifPaymentStatus(newStatus);
         }
         else{
@@ -143,10 +134,20 @@ public class PaymentService {
                     .body("Invalid payment type");
         }
         signUpRepository.save(signUp);
-    if(oldStatus.equals("Submitted")&& newStatus.equals("Paid")){
+        if (oldStatus != newStatus) {
+            paymentLedgerService.recordStatusChange(signUp.getId(), isFeePayment ? PaymentType.FEE : PaymentType.NHIF,
+                isFeePayment ? signUp.getFeeControlNumber() : signUp.getNhifControlNumber(), newStatus);
+        }
+    if(oldStatus != PaymentStatus.PAID && newStatus == PaymentStatus.PAID){
         String message= isFeePayment ? "University Fee Payment" : "NHIF Payment";
         notificationsService.notifyUserOfPaymentStatusChange(signUp,message);
     }
     return ResponseEntity.ok("Payment status updated successfully");
 }
+
+    private static void checkTransition(PaymentStatus oldStatus, PaymentStatus newStatus) {
+        if (oldStatus != null && !oldStatus.canTransitionTo(newStatus)) {
+            throw new InvalidStatusTransitionException(oldStatus, newStatus);
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.nmbsms.scholarship_management.payment;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentStateRow {
+    private Long id;
+    private String email;
+    private String feeControlNumber;
+    private PaymentStatus feePaymentStatus;
+    private String nhifControlNumber;
+    private PaymentStatus nhifPaymentStatus;
+}
@@ -0,0 +1,49 @@
+package com.nmbsms.scholarship_management.payment;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Codes are persisted and ordered on: submitted payments awaiting review sort first.
+public enum PaymentStatus {
+    SUBMITTED(1),
+    PAID(2),
+    UNPAID(3);
+
+    private final int code;
+
+    PaymentStatus(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public Set<PaymentStatus> nextStatuses() {
+        return switch (this) {
+            case UNPAID -> EnumSet.of(SUBMITTED, PAID);
+            case SUBMITTED -> EnumSet.of(PAID, UNPAID);
+            case PAID -> EnumSet.noneOf(PaymentStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(PaymentStatus next) {
+        return this == next || nextStatuses().contains(next);
+    }
+
+    public static PaymentStatus fromCode(int code) {
+        for (PaymentStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payment status code: " + code);
+    }
+
+    public static PaymentStatus from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid payment status: " + value);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.nmbsms.scholarship_management.payment;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class PaymentStatusConverter implements AttributeConverter<PaymentStatus, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(PaymentStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public PaymentStatus convertToEntityAttribute(Integer code) {
+        return code == null ? null : PaymentStatus.fromCode(code);
+    }
+}
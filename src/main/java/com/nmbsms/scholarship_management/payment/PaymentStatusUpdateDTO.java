@@ -0,0 +1,15 @@
+package com.nmbsms.scholarship_management.payment;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusUpdateDTO {
+
+    private String email;
+    private String paymentType;
+    private String newStatus;
+
+}
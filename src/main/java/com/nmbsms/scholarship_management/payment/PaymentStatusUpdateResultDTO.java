@@ -0,0 +1,14 @@
+package com.nmbsms.scholarship_management.payment;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentStatusUpdateResultDTO {
+    private String email;
+    private String paymentType;
+    private String newStatus;
+    private BulkUpdateOutcome outcome;
+    private String message;
+}
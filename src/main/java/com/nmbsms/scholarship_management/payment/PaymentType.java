@@ -0,0 +1,5 @@
+package com.nmbsms.scholarship_management.payment;
+
+public enum PaymentType {
+    FEE, NHIF
+}
@@ -0,0 +1,18 @@
+package com.nmbsms.scholarship_management.payment;
+import lombok.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReconciliationSummaryDTO {
+    private long linesRead;
+    private long invalidLines;
+    private long matched;
+    private long markedPaid;
+    private long alreadyPaid;
+    private long failed;
+    private long unmatchedCount;
+    private List<String> unmatchedControlNumbers = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.nmbsms.scholarship_management.payment;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class SubmissionStateRow {
+    private Long id;
+    private UserRoles role;
+    private Integer batchNo;
+    private Long version;
+    private String feeControlNumber;
+    private String nhifControlNumber;
+    private PaymentStatus feePaymentStatus;
+    private PaymentStatus nhifPaymentStatus;
+}
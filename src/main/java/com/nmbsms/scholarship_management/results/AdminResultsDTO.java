@@ -12,6 +12,6 @@ public class AdminResultsDTO {
     private String universityName;
     private String phoneNumber;
     private Integer batchNo;
-    private String status;
+    private ResultStatus status;
     private String filePath;
 }
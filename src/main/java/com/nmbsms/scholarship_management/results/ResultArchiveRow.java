@@ -0,0 +1,12 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class ResultArchiveRow {
+    private long resultId;
+    private String name;
+    private Integer batchNo;
+    private String fileName;
+    private String filePath;
+}
@@ -0,0 +1,63 @@
+package com.nmbsms.scholarship_management.results;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a batch's result PDFs into one ZIP straight from a database cursor to the response,
+ * entry by entry, without temp files. PDFs are already compressed, so entries are stored at
+ * deflate level 0 and cost no CPU to "compress".
+ */
+@Service
+@RequiredArgsConstructor
+public class ResultArchiveService {
+    private static final String MISSING_ENTRY = "MISSING.txt";
+
+    private final ResultsRepository resultsRepository;
+
+    @Transactional(readOnly = true)
+    public void writeZip(Integer batchNo, ResultStatus status, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        List<String> missing = new ArrayList<>();
+        try (Stream<ResultArchiveRow> rows = resultsRepository.streamForArchive(status, batchNo)) {
+            Iterator<ResultArchiveRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ResultArchiveRow row = iterator.next();
+                Path file = Paths.get(row.getFilePath());
+                if (!Files.isRegularFile(file)) {
+                    missing.add(row.getResultId() + "," + row.getName() + "," + row.getFileName());
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(entryName(row)));
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+        }
+        if (!missing.isEmpty()) {
+            zip.putNextEntry(new ZipEntry(MISSING_ENTRY));
+            zip.write(("resultId,name,fileName\n" + String.join("\n", missing) + "\n").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    // The result id keeps names unique when students share a name or upload more than once.
+    private static String entryName(ResultArchiveRow row) {
+        String name = row.getName() == null ? "student" : row.getName().replaceAll("[^A-Za-z0-9._-]+", "_");
+        return "batch-" + row.getBatchNo() + "/" + name + "_" + row.getResultId() + ".pdf";
+    }
+}
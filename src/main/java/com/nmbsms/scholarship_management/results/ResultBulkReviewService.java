@@ -0,0 +1,111 @@
+package com.nmbsms.scholarship_management.results;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.nmbsms.scholarship_management.admindashboard.DashboardCounterService;
+import com.nmbsms.scholarship_management.admindashboard.EmailService;
+import com.nmbsms.scholarship_management.signUp.BatchCountsDTO;
+import lombok.RequiredArgsConstructor;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Approves or rejects many results in one transaction. Each chunk is locked, read, changed with a
+ * single UPDATE ... IN statement, and students get one summary email after the commit instead of
+ * one per result.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResultBulkReviewService {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_ROWS = 10_000;
+
+    private final ResultsRepository resultsRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<ResultStatusUpdateResultDTO> updateResultStatuses(ResultStatusBulkUpdateDTO request) {
+        if (request == null || request.getResultIds() == null || request.getResultIds().isEmpty()) {
+            throw new IllegalArgumentException("No result ids supplied");
+        }
+        ResultStatus newStatus = ResultStatus.from(request.getNewStatus());
+        if (newStatus != ResultStatus.APPROVED && newStatus != ResultStatus.REJECTED) {
+            throw new IllegalArgumentException("Bulk review only supports APPROVED or REJECTED");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getResultIds()));
+        if (ids.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS + " results can be reviewed per request");
+        }
+        Set<ResultStatus> fromStatuses = EnumSet.noneOf(ResultStatus.class);
+        for (ResultStatus status : ResultStatus.values()) {
+            if (status != newStatus && status != ResultStatus.PENDING_VALIDATION && status.canTransitionTo(newStatus)) {
+                fromStatuses.add(status);
+            }
+        }
+
+        List<ResultStatusUpdateResultDTO> results = new ArrayList<>(ids.size());
+        Map<String, List<String>> changesByEmail = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            applyChunk(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())), newStatus, fromStatuses, results, changesByEmail);
+        }
+        if (!changesByEmail.isEmpty()) {
+            eventPublisher.publishEvent(new ResultsReviewedEvent(changesByEmail));
+        }
+        return results;
+    }
+
+    private void applyChunk(List<Long> chunk, ResultStatus newStatus, Set<ResultStatus> fromStatuses,
+                            List<ResultStatusUpdateResultDTO> results, Map<String, List<String>> changesByEmail) {
+        Set<Long> studentIds = new LinkedHashSet<>();
+        for (ResultReviewRow row : resultsRepository.findReviewRows(chunk)) {
+            if (row.getStudentId() != null) {
+                studentIds.add(row.getStudentId());
+            }
+        }
+        // Students, then their results, in the order the single-result paths lock them. Outcomes come from
+        // the rows read after the locks, so a result deleted or reviewed in between is not reported UPDATED.
+        List<BatchCountsDTO> before = dashboardCounterService.snapshotResults(studentIds);
+        resultsRepository.lockForUpdate(chunk);
+        Map<Long, ResultReviewRow> rows = new HashMap<>();
+        for (ResultReviewRow row : resultsRepository.findReviewRows(chunk)) {
+            rows.put(row.getResultId(), row);
+        }
+        List<Long> eligible = new ArrayList<>();
+        for (Long resultId : chunk) {
+            ResultReviewRow row = rows.get(resultId);
+            if (row == null) {
+                results.add(new ResultStatusUpdateResultDTO(resultId, ResultReviewOutcome.NOT_FOUND, "Result not found"));
+            } else if (row.getStatus() == newStatus) {
+                results.add(new ResultStatusUpdateResultDTO(resultId, ResultReviewOutcome.UNCHANGED, null));
+            } else if (!fromStatuses.contains(row.getStatus())) {
+                results.add(new ResultStatusUpdateResultDTO(resultId, ResultReviewOutcome.INVALID_TRANSITION,
+                    "Cannot change status from " + row.getStatus() + " to " + newStatus));
+            } else {
+                eligible.add(resultId);
+                results.add(new ResultStatusUpdateResultDTO(resultId, ResultReviewOutcome.UPDATED, null));
+                changesByEmail.computeIfAbsent(row.getEmail(), email -> new ArrayList<>())
+                    .add(row.getFileName() + ": " + newStatus);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+        resultsRepository.updateStatuses(eligible, newStatus, fromStatuses);
+        dashboardCounterService.resultsChanged(before, studentIds);
+    }
+
+    @TransactionalEventListener
+    public void onResultsReviewed(ResultsReviewedEvent event) {
+        event.getChangesByEmail().forEach(emailService::sendStatusSummary);
+    }
+}
@@ -5,12 +5,20 @@ import org.springframework.http.ResponseEntity;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 import java.util.HashMap;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.nmbsms.scholarship_management.storage.FileResponseWriter;
+import com.nmbsms.scholarship_management.storage.MultipartStreamReader;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 
 @RestController
@@ -18,9 +26,15 @@ import java.util.List;
 @RequestMapping(path="api/results")
 public class ResultController {
     private final ResultService resultService;
+    private final FileResponseWriter fileResponseWriter;
+    private final ResultPreviewService resultPreviewService;
+    private final ResultArchiveService resultArchiveService;
+    private final ResultBulkReviewService resultBulkReviewService;
+    private final ResultUploadService resultUploadService;
+    private final MultipartStreamReader multipartStreamReader;
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String,String>> uploadResult(@RequestParam("file") MultipartFile file){
+    public ResponseEntity<Map<String,String>> uploadResult(HttpServletRequest request){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()
     || authentication instanceof AnonymousAuthenticationToken) {
@@ -29,9 +43,11 @@ public class ResultController {
         String email = authentication.getName();
         Map<String,String> response = new HashMap<>();
         try {
-            Results result = resultService.uploadResult(email,file);
+            Results result = multipartStreamReader.readFile(request, "file", resultService.getMaxFileSize(),
+                (fileName, contentType, in) -> resultService.uploadResult(email, fileName, contentType, in));
             response.put("message", "File uploaded successfully!");
             response.put("fileName", result.getFileName());
+            response.put("status", result.getStatus().name());
             return ResponseEntity.ok(response);
         } catch (IOException e) {
             response.put("error", "Failed to upload file: " + e.getMessage());
@@ -39,6 +55,73 @@ public class ResultController {
         }
     }
 
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionDTO> startUpload(@RequestBody UploadSessionRequestDTO request) throws IOException {
+        String email = currentEmail();
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultUploadService.createSession(email, request));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionDTO> getUpload(@PathVariable String uploadId) {
+        String email = currentEmail();
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(resultUploadService.getSession(email, uploadId));
+    }
+
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<UploadSessionDTO> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+                                                        HttpServletRequest request) throws IOException {
+        String email = currentEmail();
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(resultUploadService.writeChunk(email, uploadId, index, request.getInputStream()));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<Map<String,String>> completeUpload(@PathVariable String uploadId,
+                                                             @RequestParam(value="sha256", required=false) String sha256) throws IOException {
+        String email = currentEmail();
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        Results result = resultUploadService.complete(email, uploadId, sha256);
+        Map<String,String> response = new HashMap<>();
+        response.put("message", "File uploaded successfully!");
+        response.put("fileName", result.getFileName());
+        response.put("status", result.getStatus().name());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable String uploadId) throws IOException {
+        String email = currentEmail();
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        resultUploadService.cancel(email, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String currentEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+            .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
     @DeleteMapping("/delete/{fileName}")
     public ResponseEntity<Map<String, String>> deleteResult(@PathVariable("fileName") String fileName) {
         Map<String, String> response = new HashMap<>();
@@ -63,6 +146,36 @@ public class ResultController {
         return ResponseEntity.ok(resultService.getAllResults(email));
 }
 
+    @GetMapping("/{resultId}/file")
+    public void downloadResult(@PathVariable long resultId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        Results result = resultService.getResultForDownload(resultId, authentication.getName(), isAdmin(authentication));
+        String contentType = result.getFileType() != null ? result.getFileType() : MediaType.APPLICATION_PDF_VALUE;
+        fileResponseWriter.write(Paths.get(result.getFilePath()), resultService.getResultTag(result), contentType,
+            result.getFileName(), request, response);
+    }
+
+    @GetMapping("/{resultId}/preview")
+    public void previewResult(@PathVariable long resultId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        Results result = resultService.getResultForDownload(resultId, authentication.getName(), isAdmin(authentication));
+        if (!resultPreviewService.hasPreview(result.getContentHash())) {
+            throw new EntityNotFoundException("Preview not available yet");
+        }
+        fileResponseWriter.write(resultPreviewService.getPreview(result.getContentHash()), resultService.getPreviewTag(result),
+            MediaType.IMAGE_PNG_VALUE, "preview-" + resultId + ".png", request, response);
+    }
+
     @GetMapping("/batch/{batchNo}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<AdminResultsDTO>> getResultsByBatchAndStatus(
@@ -72,6 +185,18 @@ public class ResultController {
         return ResponseEntity.ok(results);
         }
 
+    @GetMapping("/batch/{batchNo}/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadBatchArchive(
+        @PathVariable Integer batchNo,
+        @RequestParam(value="status", required=false) String status){
+        ResultStatus filter = ResultService.parseStatusFilter(status);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"batch-" + batchNo + "-results.zip\"")
+            .body(out -> resultArchiveService.writeZip(batchNo, filter, out));
+        }
+
     @PostMapping("/changeStatus/{resultId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> changeResultStatus(
@@ -81,6 +206,12 @@ public class ResultController {
         return ResponseEntity.ok("Status updated successfully");
         }
 
+    @PostMapping("/changeStatus/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ResultStatusUpdateResultDTO>> changeResultStatuses(@RequestBody ResultStatusBulkUpdateDTO request) {
+        return ResponseEntity.ok(resultBulkReviewService.updateResultStatuses(request));
+    }
+
     @GetMapping("/rejected")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<AdminResultsDTO>> getRejectedStudents() {
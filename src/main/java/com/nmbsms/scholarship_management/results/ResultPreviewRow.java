@@ -0,0 +1,10 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class ResultPreviewRow {
+    private long resultId;
+    private String contentHash;
+    private String filePath;
+}
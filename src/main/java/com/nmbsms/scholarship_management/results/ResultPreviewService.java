@@ -0,0 +1,100 @@
+package com.nmbsms.scholarship_management.results;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.nmbsms.scholarship_management.configuration.FileStorageConfig;
+import com.nmbsms.scholarship_management.storage.ContentStore;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * First-page PNG previews of result PDFs, cached on disk under the PDF's content hash so identical
+ * uploads share one image. New uploads get theirs from the validation pipeline; older results are
+ * filled in by a background sweep.
+ */
+@Service
+public class ResultPreviewService {
+    private static final Logger log = LoggerFactory.getLogger(ResultPreviewService.class);
+    private static final int SWEEP_BATCH = 100;
+
+    private final ResultsRepository resultsRepository;
+    private final ContentStore contentStore;
+    private final Path previewRoot;
+    private final int width;
+    private long sweepAfterId;
+
+    public ResultPreviewService(ResultsRepository resultsRepository,
+                                ContentStore contentStore,
+                                FileStorageConfig fileStorageConfig,
+                                @Value("${results.preview.width:300}") int width) {
+        this.resultsRepository = resultsRepository;
+        this.contentStore = contentStore;
+        this.previewRoot = Paths.get(fileStorageConfig.getUploadDir(), "previews");
+        this.width = width;
+    }
+
+    public Path getPreview(String contentHash) {
+        return contentHash == null ? null : contentStore.resolve(previewRoot, contentHash);
+    }
+
+    public boolean hasPreview(String contentHash) {
+        return contentHash != null && Files.isRegularFile(getPreview(contentHash));
+    }
+
+    /** Renders page one of an already opened document unless a preview for its hash exists. */
+    public void render(PDDocument document, String contentHash) throws IOException {
+        if (contentHash == null || hasPreview(contentHash)) {
+            return;
+        }
+        PDRectangle box = document.getPage(0).getCropBox();
+        float scale = width / Math.max(box.getWidth(), 1f);
+        BufferedImage image = new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        Path target = getPreview(contentHash);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "preview-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                ImageIO.write(image, "png", out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Walks validated results in id order, a batch per run, rendering any preview that is missing. */
+    @Scheduled(fixedDelay = 1000 * 60 * 5)
+    public void renderMissing() {
+        List<ResultPreviewRow> batch = resultsRepository.findPreviewCandidates(sweepAfterId, PageRequest.of(0, SWEEP_BATCH));
+        if (batch.isEmpty()) {
+            sweepAfterId = 0;
+            return;
+        }
+        for (ResultPreviewRow result : batch) {
+            sweepAfterId = result.getResultId();
+            if (hasPreview(result.getContentHash())) {
+                continue;
+            }
+            try (PDDocument document = Loader.loadPDF(Paths.get(result.getFilePath()).toFile())) {
+                render(document, result.getContentHash());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not render preview for result {}", result.getResultId(), e);
+            }
+        }
+    }
+}
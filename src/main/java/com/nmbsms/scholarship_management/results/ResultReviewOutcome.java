@@ -0,0 +1,8 @@
+package com.nmbsms.scholarship_management.results;
+
+public enum ResultReviewOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    INVALID_TRANSITION
+}
@@ -0,0 +1,12 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class ResultReviewRow {
+    private long resultId;
+    private Long studentId;
+    private String email;
+    private String fileName;
+    private ResultStatus status;
+}
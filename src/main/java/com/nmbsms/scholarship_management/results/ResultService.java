@@ -4,18 +4,28 @@ import java.nio.file.Paths;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.springframework.stereotype.Service;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.unit.DataSize;
 import lombok.RequiredArgsConstructor;
 import com.nmbsms.scholarship_management.configuration.FileStorageConfig;
-import org.springframework.web.multipart.MultipartFile;
-import java.nio.file.StandardCopyOption;
+import com.nmbsms.scholarship_management.storage.ContentStore;
+import com.nmbsms.scholarship_management.storage.StoredFile;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Collections;
 import com.nmbsms.scholarship_management.signUp.SignUpRepository;
 import com.nmbsms.scholarship_management.admindashboard.EmailService;
+import com.nmbsms.scholarship_management.admindashboard.DashboardCounterService;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
 import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.exception.InvalidStatusTransitionException;
 
 
 
@@ -26,54 +36,100 @@ public class ResultService {
     private final FileStorageConfig fileStorageConfig;
     private final SignUpRepository signUpRepository;
     private final EmailService emailService;
-    public void validateFileType(MultipartFile file){
-        String contentType=file.getContentType();
-        if(contentType==null||!contentType.startsWith("application/pdf")){
-            throw new IllegalArgumentException("Invalid file type. Only PDF files are allowed.");
-        }
-        if(file.getSize()>(5*1024*1024)){
-            throw new IllegalArgumentException("File size exceeds 5MB.");
-        }
+    private final DashboardCounterService dashboardCounterService;
+    private final ContentStore contentStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${results.upload.max-file-size:5MB}")
+    private DataSize maxFileSize;
+
+    public DataSize getMaxFileSize(){
+        return maxFileSize;
     }
 
-    public String storeFile(MultipartFile file) throws IOException{
-        if(file==null || file.isEmpty()){
-            throw new IllegalArgumentException("File is empty.");
+    public void validateFileSize(long size){
+        if(size>maxFileSize.toBytes()){
+            throw new IllegalArgumentException("File size exceeds " + maxFileSize.toMegabytes() + "MB.");
         }
-        String uploadDirectory = fileStorageConfig.getUploadDir();
-        String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        if (fileName.contains("..")) {
-            throw new IllegalArgumentException("Invalid file format");
-        }
-        Path uploadPath = Paths.get(uploadDirectory);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    }
+
+    // Only a cheap look at the header happens here; ResultValidationService parses the whole document.
+    public StoredFile storeFile(InputStream in) throws IOException{
+        BufferedInputStream buffered = new BufferedInputStream(in, ResultValidationService.HEADER_WINDOW);
+        buffered.mark(ResultValidationService.HEADER_WINDOW);
+        byte[] head = buffered.readNBytes(ResultValidationService.HEADER_WINDOW);
+        if (!ResultValidationService.hasPdfHeader(head)) {
+            throw new IllegalArgumentException("Only PDF files are allowed.");
         }
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-        return filePath.toString();
+        buffered.reset();
+        return contentStore.store(Paths.get(fileStorageConfig.getUploadDir()), buffered);
     }
 
-    public Results uploadResult(String email, MultipartFile file) throws IOException {
-        validateFileType(file);
-        String filePath = storeFile(file);
+    // The body is read before the transaction starts so a slow client does not hold a connection.
+    public Results uploadResult(String email, String fileName, String contentType, InputStream in) throws IOException {
+        StoredFile stored = storeFile(in);
+        return transactionTemplate.execute(status -> saveResult(email, fileName, contentType, stored));
+    }
+
+    /** Records an upload that is already in the content store and queues it for validation. */
+    @Transactional
+    public Results saveResult(String email, String fileName, String contentType, StoredFile stored) {
         Optional<SignUp> user = signUpRepository.findByEmail(email);
         SignUp student= user.get();
         Results result = new Results();
         result.setStudent(student.getName());
+        result.setUser(student);
         result.setEmail(email);
-        result.setFileName(file.getOriginalFilename());
-        result.setFilePath(filePath);
+        result.setFileName(fileName);
+        result.setFilePath(stored.getPath().toString());
+        result.setContentHash(stored.getHash());
+        result.setFileSize(stored.getSize());
+        result.setFileType(contentType);
         result.setUploadTime(LocalDateTime.now());
-        result.setStatus("SUBMITTED");
+        result.setStatus(ResultStatus.PENDING_VALIDATION);
         resultsRepository.save(result);
+        eventPublisher.publishEvent(new ResultUploadedEvent(result.getResultId()));
         return result;
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void deleteResult(String fileName) throws IOException {
         Results result = resultsRepository.findByFileName(fileName).orElseThrow(() -> new IllegalArgumentException("Result not found"));
-        Files.deleteIfExists(Paths.get(result.getFilePath()));
+        SignUp student = signUpRepository.findByEmail(result.getEmail()).orElse(null);
+        dashboardCounterService.resultsRemoved(student);
         resultsRepository.delete(result);
+        // A stored file may be shared with other results, or be the dedupe hit of an upload that has not
+        // committed yet, so content-addressed files are left to OrphanFileSweeper and its grace period.
+        if (result.getContentHash() == null) {
+            Files.deleteIfExists(Paths.get(result.getFilePath()));
+        }
+        dashboardCounterService.resultsAdded(student);
+    }
+
+    /** Admins may open any validated result; students only their own, and anything else reads as missing. */
+    public Results getResultForDownload(long resultId, String email, boolean admin) {
+        Results result = resultsRepository.findByResultId(resultId)
+            .orElseThrow(() -> new EntityNotFoundException("Result not found"));
+        boolean hidden = result.getStatus() == ResultStatus.PENDING_VALIDATION || result.getStatus() == ResultStatus.INVALID;
+        if (!email.equalsIgnoreCase(result.getEmail())
+            && (hidden || !admin)) {
+            throw new EntityNotFoundException("Result not found");
+        }
+        return result;
+    }
+
+    public String getResultTag(Results result) throws IOException {
+        if (result.getContentHash() != null) {
+            return "\"" + result.getContentHash() + "\"";
+        }
+        // Uploads from before content addressing have no hash; their files are never rewritten either.
+        Path path = Paths.get(result.getFilePath());
+        return "\"" + result.getResultId() + "-" + Files.size(path) + "-" + Files.getLastModifiedTime(path).toMillis() + "\"";
+    }
+
+    public String getPreviewTag(Results result) {
+        return "\"" + result.getContentHash() + "-preview\"";
     }
 
     public List<Results> getAllResults(String email) {
@@ -87,15 +143,20 @@ public class ResultService {
         }
         return results.stream()
         .map(Results::getStatus)
+        .map(ResultStatus::name)
         .distinct()
         .toList();
     }
 
-    public List<AdminResultsDTO> getResultsForBatchWithStatus(String filterStatus,Integer batchNo) {
-        String status = null;
-        if (filterStatus != null && !filterStatus.trim().equalsIgnoreCase("all")) {
-            status = filterStatus.trim().toLowerCase();
+    public static ResultStatus parseStatusFilter(String filterStatus) {
+        if (filterStatus == null || filterStatus.trim().equalsIgnoreCase("all")) {
+            return null;
         }
+        return ResultStatus.from(filterStatus);
+    }
+
+    public List<AdminResultsDTO> getResultsForBatchWithStatus(String filterStatus,Integer batchNo) {
+        ResultStatus status = parseStatusFilter(filterStatus);
         List<AdminResultsDTO> results = resultsRepository.getResultsForBatch(status,batchNo);
         if (results.isEmpty()) {
             throw new EntityNotFoundException("No results found for batch " + batchNo + " with status: " + (status != null ? status : "all"));
@@ -103,17 +164,26 @@ public class ResultService {
         return results;
     }
 
-    public void updateResultStatus(Long resultId, String newStatus) {
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void updateResultStatus(Long resultId, String status) {
+        ResultStatus newStatus = ResultStatus.from(status);
         Results result = resultsRepository.findByResultId(resultId)
             .orElseThrow(() -> new EntityNotFoundException("Result not found for student: " + resultId));
-        String oldStatus = result.getStatus();
-        if (!oldStatus.equalsIgnoreCase(newStatus)) {
+        ResultStatus oldStatus = result.getStatus();
+        // Only the validation pipeline moves a result out of PENDING_VALIDATION.
+        if (oldStatus == ResultStatus.PENDING_VALIDATION || !oldStatus.canTransitionTo(newStatus)) {
+            throw new InvalidStatusTransitionException(oldStatus, newStatus);
+        }
+        if (oldStatus != newStatus) {
+            SignUp student = signUpRepository.findByEmail(result.getEmail()).orElse(null);
+            dashboardCounterService.resultsRemoved(student);
             result.setStatus(newStatus);
             resultsRepository.save(result);
+            dashboardCounterService.resultsAdded(student);
         }
-        if (newStatus.equalsIgnoreCase("APPROVED") || newStatus.equalsIgnoreCase("REJECTED")) {
+        if (newStatus == ResultStatus.APPROVED || newStatus == ResultStatus.REJECTED) {
             String email=result.getEmail();
-            emailService.sendStatusUpdate(email, newStatus);
+            emailService.sendStatusUpdate(email, newStatus.name());
         }
     }
 
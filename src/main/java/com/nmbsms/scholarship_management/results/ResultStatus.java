@@ -0,0 +1,52 @@
+package com.nmbsms.scholarship_management.results;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum ResultStatus {
+    SUBMITTED(1),
+    APPROVED(2),
+    REJECTED(3),
+    PENDING_VALIDATION(4),
+    INVALID(5);
+
+    private final int code;
+
+    ResultStatus(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public Set<ResultStatus> nextStatuses() {
+        return switch (this) {
+            case SUBMITTED -> EnumSet.of(APPROVED, REJECTED);
+            case APPROVED -> EnumSet.of(REJECTED);
+            case REJECTED -> EnumSet.of(APPROVED);
+            case PENDING_VALIDATION -> EnumSet.of(SUBMITTED, INVALID);
+            case INVALID -> EnumSet.noneOf(ResultStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(ResultStatus next) {
+        return this == next || nextStatuses().contains(next);
+    }
+
+    public static ResultStatus fromCode(int code) {
+        for (ResultStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown result status code: " + code);
+    }
+
+    public static ResultStatus from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid result status: " + value);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultStatusBulkUpdateDTO {
+
+    private List<Long> resultIds;
+    private String newStatus;
+
+}
@@ -0,0 +1,17 @@
+package com.nmbsms.scholarship_management.results;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class ResultStatusConverter implements AttributeConverter<ResultStatus, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(ResultStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public ResultStatus convertToEntityAttribute(Integer code) {
+        return code == null ? null : ResultStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,12 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultStatusUpdateResultDTO {
+    private long resultId;
+    private ResultReviewOutcome outcome;
+    private String message;
+}
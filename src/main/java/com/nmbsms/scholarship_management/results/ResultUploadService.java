@@ -0,0 +1,260 @@
+package com.nmbsms.scholarship_management.results;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import com.nmbsms.scholarship_management.configuration.FileStorageConfig;
+import com.nmbsms.scholarship_management.storage.ContentStore;
+import com.nmbsms.scholarship_management.storage.StoredFile;
+import com.nmbsms.scholarship_management.exception.UploadOffsetMismatchException;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable result uploads. A client opens a session, PUTs fixed-size chunks in order (the last
+ * may be shorter) and completes it with the file's SHA-256. Chunks are appended to a staging
+ * file in the store's temp directory; after a dropped connection the client asks for the
+ * session and resends from {@code nextChunk}. Sessions idle longer than the TTL are discarded.
+ */
+@Service
+public class ResultUploadService {
+    private static final Logger log = LoggerFactory.getLogger(ResultUploadService.class);
+    static final int LOCK_STRIPES = 64;
+    // OrphanFileSweeper recognises staging files by this name and leaves those of live sessions alone.
+    public static final String STAGING_PREFIX = "session-";
+    public static final String STAGING_SUFFIX = ".part";
+
+    private final ResultUploadSessionRepository sessionRepository;
+    private final ResultService resultService;
+    private final ContentStore contentStore;
+    private final Path storeRoot;
+    private final int chunkSize;
+    private final long sessionTtlHours;
+    // Serialises appends to the same staging file; the offset check in the database catches the rest.
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ResultUploadService(ResultUploadSessionRepository sessionRepository,
+                               ResultService resultService,
+                               ContentStore contentStore,
+                               FileStorageConfig fileStorageConfig,
+                               @Value("${results.upload.chunk-size:1MB}") DataSize chunkSize,
+                               @Value("${results.upload.session-ttl-hours:24}") long sessionTtlHours) {
+        this.sessionRepository = sessionRepository;
+        this.resultService = resultService;
+        this.contentStore = contentStore;
+        this.storeRoot = Paths.get(fileStorageConfig.getUploadDir());
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.sessionTtlHours = sessionTtlHours;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Transactional
+    public UploadSessionDTO createSession(String email, UploadSessionRequestDTO request) throws IOException {
+        if (request == null || request.getSize() == null || request.getSize() <= 0) {
+            throw new IllegalArgumentException("File size must be given and positive.");
+        }
+        String fileName = request.getFileName();
+        if (fileName == null || fileName.isBlank() || fileName.contains("..")) {
+            throw new IllegalArgumentException("Invalid file name");
+        }
+        resultService.validateFileSize(request.getSize());
+        LocalDateTime now = LocalDateTime.now();
+        ResultUploadSession session = new ResultUploadSession(UUID.randomUUID().toString(), email, fileName,
+            request.getSize(), chunkSize, 0, normalizeHash(request.getSha256()), now, now);
+        sessionRepository.save(session);
+        Files.createDirectories(contentStore.tempDir(storeRoot));
+        Files.deleteIfExists(stagingFile(session.getId()));
+        Files.createFile(stagingFile(session.getId()));
+        return toDTO(session);
+    }
+
+    public UploadSessionDTO getSession(String email, String uploadId) {
+        return toDTO(findSession(email, uploadId));
+    }
+
+    /**
+     * Appends chunk {@code index}. Re-sending a chunk that was already stored is a no-op, so a
+     * client that lost the response can simply retry; skipping ahead is rejected. The body is
+     * received into a file of its own first, so a slow client holds no lock; only the offset
+     * check, the append and the offset update run under it. Not transactional on purpose: the
+     * offset must be committed before the lock is released.
+     */
+    public UploadSessionDTO writeChunk(String email, String uploadId, int index, InputStream body) throws IOException {
+        ResultUploadSession session = findSession(email, uploadId);
+        long offset = (long) index * session.getChunkSize();
+        if (index < 0 || offset >= session.getTotalSize()) {
+            throw new IllegalArgumentException("Chunk " + index + " is outside the file");
+        }
+        if (offset < session.getReceivedBytes()) {
+            return toDTO(session);
+        }
+        if (offset > session.getReceivedBytes()) {
+            throw new UploadOffsetMismatchException("Expected chunk " + nextChunk(session) + " but got " + index);
+        }
+        long expected = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+        Files.createDirectories(contentStore.tempDir(storeRoot));
+        Path chunk = Files.createTempFile(contentStore.tempDir(storeRoot), "chunk-", ".part");
+        try {
+            long received = receive(chunk, expected, body);
+            if (received != expected) {
+                throw new IllegalArgumentException("Chunk " + index + " must be " + expected + " bytes but was " + received);
+            }
+            ReentrantLock lock = locks[Math.floorMod(uploadId.hashCode(), LOCK_STRIPES)];
+            lock.lock();
+            try {
+                // Another attempt at the same chunk may have landed while this one was being received.
+                session = findSession(email, uploadId);
+                if (offset < session.getReceivedBytes()) {
+                    return toDTO(session);
+                }
+                if (offset > session.getReceivedBytes()) {
+                    throw new UploadOffsetMismatchException("Expected chunk " + nextChunk(session) + " but got " + index);
+                }
+                append(stagingFile(uploadId), offset, chunk);
+                if (sessionRepository.advance(uploadId, offset, offset + received, LocalDateTime.now()) == 0) {
+                    throw new UploadOffsetMismatchException("Upload " + uploadId + " was changed by another request");
+                }
+                session.setReceivedBytes(offset + received);
+                return toDTO(session);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            Files.deleteIfExists(chunk);
+        }
+    }
+
+    // A hash mismatch or a non-PDF discards the session, and that must survive the exception it throws.
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Results complete(String email, String uploadId, String sha256) throws IOException {
+        ResultUploadSession session = findSession(email, uploadId);
+        if (session.getReceivedBytes() != session.getTotalSize()) {
+            throw new UploadOffsetMismatchException("Upload is incomplete, resume from chunk " + nextChunk(session));
+        }
+        String expectedHash = normalizeHash(sha256) != null ? normalizeHash(sha256) : session.getSha256();
+        if (expectedHash == null) {
+            throw new IllegalArgumentException("A SHA-256 of the file is required to complete the upload");
+        }
+        if (session.getSha256() != null && !session.getSha256().equals(expectedHash)) {
+            throw new IllegalArgumentException("SHA-256 does not match the one given when the upload started");
+        }
+        Path staging = stagingFile(uploadId);
+        if (!hasPdfHeader(staging)) {
+            discard(session);
+            throw new IllegalArgumentException("Only PDF files are allowed.");
+        }
+        StoredFile stored;
+        try {
+            stored = contentStore.importFile(storeRoot, staging, expectedHash);
+        } catch (IllegalArgumentException e) {
+            // The bytes are corrupt somewhere; resuming cannot fix that, so the client starts over.
+            discard(session);
+            throw e;
+        }
+        sessionRepository.delete(session);
+        return resultService.saveResult(email, session.getFileName(), null, stored);
+    }
+
+    @Transactional
+    public void cancel(String email, String uploadId) throws IOException {
+        discard(findSession(email, uploadId));
+    }
+
+    @Scheduled(fixedRate = 1000 * 60 * 60)
+    @Transactional
+    public void expireSessions() {
+        for (ResultUploadSession session : sessionRepository.findByUpdatedAtBefore(LocalDateTime.now().minusHours(sessionTtlHours))) {
+            try {
+                discard(session);
+            } catch (IOException e) {
+                log.warn("Could not remove staging file of upload {}", session.getId(), e);
+            }
+        }
+    }
+
+    private void discard(ResultUploadSession session) throws IOException {
+        sessionRepository.delete(session);
+        Files.deleteIfExists(stagingFile(session.getId()));
+    }
+
+    private static boolean hasPdfHeader(Path staging) throws IOException {
+        try (InputStream in = Files.newInputStream(staging)) {
+            return ResultValidationService.hasPdfHeader(in.readNBytes(ResultValidationService.HEADER_WINDOW));
+        }
+    }
+
+    // Stops reading one byte past the expected length; that is enough to reject the chunk.
+    private static long receive(Path chunk, long expected, InputStream body) throws IOException {
+        try (OutputStream out = Files.newOutputStream(chunk)) {
+            byte[] buffer = new byte[64 * 1024];
+            long received = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                received += read;
+                if (received > expected) {
+                    return received;
+                }
+                out.write(buffer, 0, read);
+            }
+            return received;
+        }
+    }
+
+    // Anything past the committed offset is left over from an interrupted attempt and is cut off first.
+    private static void append(Path staging, long offset, Path chunk) throws IOException {
+        try (FileChannel target = FileChannel.open(staging, StandardOpenOption.WRITE);
+             FileChannel source = FileChannel.open(chunk, StandardOpenOption.READ)) {
+            target.truncate(offset);
+            long size = source.size();
+            long copied = 0;
+            while (copied < size) {
+                copied += target.transferFrom(source, offset + copied, size - copied);
+            }
+        }
+    }
+
+    private ResultUploadSession findSession(String email, String uploadId) {
+        return sessionRepository.findById(uploadId)
+            .filter(session -> session.getEmail().equalsIgnoreCase(email))
+            .orElseThrow(() -> new EntityNotFoundException("Upload not found"));
+    }
+
+    private Path stagingFile(String uploadId) {
+        return contentStore.tempDir(storeRoot).resolve(STAGING_PREFIX + uploadId + STAGING_SUFFIX);
+    }
+
+    private static int nextChunk(ResultUploadSession session) {
+        return (int) (session.getReceivedBytes() / session.getChunkSize());
+    }
+
+    private static String normalizeHash(String sha256) {
+        if (sha256 == null || sha256.isBlank()) {
+            return null;
+        }
+        String hash = sha256.trim().toLowerCase();
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid SHA-256 value");
+        }
+        return hash;
+    }
+
+    private static UploadSessionDTO toDTO(ResultUploadSession session) {
+        return new UploadSessionDTO(session.getId(), session.getFileName(), session.getTotalSize(), session.getChunkSize(),
+            session.getReceivedBytes(), nextChunk(session), session.getReceivedBytes() == session.getTotalSize());
+    }
+}
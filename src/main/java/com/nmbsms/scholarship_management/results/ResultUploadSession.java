@@ -0,0 +1,26 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "result_upload_sessions")
+public class ResultUploadSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+    @Column(nullable = false)
+    private String email;
+    private String fileName;
+    private long totalSize;
+    private int chunkSize;
+    private long receivedBytes;
+    @Column(length = 64)
+    private String sha256;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
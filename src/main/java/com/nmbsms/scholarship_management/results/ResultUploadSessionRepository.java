@@ -0,0 +1,22 @@
+package com.nmbsms.scholarship_management.results;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ResultUploadSessionRepository extends JpaRepository<ResultUploadSession, String> {
+
+    // Only advances when nobody else moved the offset since it was read.
+    @Transactional
+    @Modifying
+    @Query("UPDATE ResultUploadSession u SET u.receivedBytes = :newOffset, u.updatedAt = :now " +
+        "WHERE u.id = :id AND u.receivedBytes = :offset")
+    int advance(@Param("id") String id, @Param("offset") long offset, @Param("newOffset") long newOffset, @Param("now") LocalDateTime now);
+
+    List<ResultUploadSession> findByUpdatedAtBefore(LocalDateTime updatedBefore);
+}
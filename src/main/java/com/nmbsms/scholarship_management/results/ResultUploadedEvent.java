@@ -0,0 +1,8 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class ResultUploadedEvent {
+    private final long resultId;
+}
@@ -0,0 +1,254 @@
+package com.nmbsms.scholarship_management.results;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.nmbsms.scholarship_management.admindashboard.DashboardCounterService;
+import com.nmbsms.scholarship_management.admindashboard.EmailService;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks uploaded results off the request thread. Uploads are saved as PENDING_VALIDATION and
+ * queued here once their transaction commits; a worker confirms the PDF header, parses the
+ * document (rendering its preview while it is open) and moves the result to SUBMITTED or INVALID. The queue is bounded: when it is full
+ * the result simply stays pending and the periodic sweep queues it again later. Failures that say nothing about the
+ * document, such as a read error, are retried by the sweep a limited number of times before the result is rejected.
+ */
+@Service
+public class ResultValidationService {
+    private static final Logger log = LoggerFactory.getLogger(ResultValidationService.class);
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    // The PDF spec allows the header to appear anywhere in the first 1024 bytes.
+    static final int HEADER_WINDOW = 1024;
+    private static final int SWEEP_BATCH = 500;
+
+    private final ResultsRepository resultsRepository;
+    private final ResultPreviewService resultPreviewService;
+    private final DashboardCounterService dashboardCounterService;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final int maxPages;
+    private final int maxAttempts;
+
+    public ResultValidationService(ResultsRepository resultsRepository,
+                                   ResultPreviewService resultPreviewService,
+                                   DashboardCounterService dashboardCounterService,
+                                   EmailService emailService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${results.validation.threads:2}") int threads,
+                                   @Value("${results.validation.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${results.validation.max-pages:200}") int maxPages,
+                                   @Value("${results.validation.max-attempts:5}") int maxAttempts) {
+        this.resultsRepository = resultsRepository;
+        this.resultPreviewService = resultPreviewService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.emailService = emailService;
+        // Dashboard counter deltas must read the latest commit once the student is locked.
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.maxPages = maxPages;
+        this.maxAttempts = maxAttempts;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "result-validation-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultUploaded(ResultUploadedEvent event) {
+        enqueue(event.getResultId());
+    }
+
+    /** Picks up results whose validation was never queued, e.g. after a restart or a full queue. */
+    @Scheduled(fixedDelay = 1000 * 60)
+    public void requeuePending() {
+        LocalDateTime uploadedBefore = LocalDateTime.now().minusMinutes(1);
+        for (Long resultId : resultsRepository.findPendingValidation(uploadedBefore, PageRequest.of(0, SWEEP_BATCH))) {
+            if (!enqueue(resultId)) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean enqueue(long resultId) {
+        if (!queued.add(resultId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    validate(resultId);
+                } catch (RuntimeException e) {
+                    log.error("Validation of result {} failed", resultId, e);
+                    retryLater(resultId, e.toString());
+                } finally {
+                    queued.remove(resultId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(resultId);
+            log.warn("Result validation queue is full, result {} will be retried by the sweep", resultId);
+            return false;
+        }
+    }
+
+    void validate(long resultId) {
+        Results pending = resultsRepository.findByResultId(resultId).orElse(null);
+        if (pending == null || pending.getStatus() != ResultStatus.PENDING_VALIDATION) {
+            return;
+        }
+        // Reading and parsing are kept apart: a read error may clear up on its own, a bad document never will.
+        byte[] content;
+        try {
+            content = Files.readAllBytes(Paths.get(pending.getFilePath()));
+        } catch (IOException e) {
+            retryLater(resultId, "file could not be read: " + e);
+            return;
+        }
+        int pageCount;
+        String reason = null;
+        try {
+            pageCount = inspect(content, pending.getContentHash());
+        } catch (IOException | RuntimeException e) {
+            // PDFBox throws unchecked exceptions on some malformed input as well.
+            pageCount = 0;
+            reason = String.valueOf(e.getMessage());
+        }
+        if (reason == null && pageCount > maxPages) {
+            reason = pageCount + " pages exceeds the limit of " + maxPages;
+        }
+        finish(resultId, reason == null ? ResultStatus.SUBMITTED : ResultStatus.INVALID, pageCount, reason);
+    }
+
+    /** Counts a failed attempt; the result stays pending for the sweep until the attempts run out. */
+    private void retryLater(long resultId, String reason) {
+        Integer attempts;
+        try {
+            attempts = transactionTemplate.execute(status -> {
+                Results result = resultsRepository.findForUpdate(resultId).orElse(null);
+                if (result == null || result.getStatus() != ResultStatus.PENDING_VALIDATION) {
+                    return null;
+                }
+                int count = (result.getValidationAttempts() == null ? 0 : result.getValidationAttempts()) + 1;
+                result.setValidationAttempts(count);
+                resultsRepository.saveAndFlush(result);
+                return count;
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not record failed validation of result {}", resultId, e);
+            return;
+        }
+        if (attempts == null) {
+            return;
+        }
+        if (attempts < maxAttempts) {
+            log.warn("Validation attempt {} of {} for result {} failed, it stays pending: {}", attempts, maxAttempts, resultId, reason);
+            return;
+        }
+        finish(resultId, ResultStatus.INVALID, 0, "gave up after " + attempts + " attempts: " + reason);
+    }
+
+    private void finish(long resultId, ResultStatus outcome, int pageCount, String reason) {
+        Results updated = transactionTemplate.execute(status -> apply(resultId, outcome, pageCount));
+        if (updated == null) {
+            return;
+        }
+        if (outcome == ResultStatus.INVALID) {
+            log.info("Result {} rejected as invalid: {}", resultId, reason);
+            emailService.sendStatusUpdate(updated.getEmail(), outcome.name());
+        }
+    }
+
+    private Results apply(long resultId, ResultStatus outcome, int pageCount) {
+        Results result = resultsRepository.findForUpdate(resultId).orElse(null);
+        if (result == null || result.getStatus() != ResultStatus.PENDING_VALIDATION) {
+            return null;
+        }
+        SignUp student = result.getUser();
+        dashboardCounterService.resultsRemoved(student);
+        result.setStatus(outcome);
+        if (outcome == ResultStatus.SUBMITTED) {
+            result.setPageCount(pageCount);
+            result.setFileType(MediaType.APPLICATION_PDF_VALUE);
+        }
+        resultsRepository.saveAndFlush(result);
+        dashboardCounterService.resultsAdded(student);
+        return result;
+    }
+
+    /** Returns the page count of a well-formed PDF, or throws describing why it is not one. */
+    private int inspect(byte[] content, String contentHash) throws IOException {
+        if (!hasPdfHeader(Arrays.copyOf(content, Math.min(content.length, HEADER_WINDOW)))) {
+            throw new IOException("missing PDF header");
+        }
+        try (PDDocument document = Loader.loadPDF(content)) {
+            int pages = document.getNumberOfPages();
+            if (pages == 0) {
+                throw new IOException("document has no pages");
+            }
+            if (pages <= maxPages) {
+                renderPreview(document, contentHash);
+            }
+            return pages;
+        }
+    }
+
+    // The document is already open here, so the preview costs one page render; failures only cost the preview.
+    private void renderPreview(PDDocument document, String contentHash) {
+        try {
+            resultPreviewService.render(document, contentHash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not render preview for content {}", contentHash, e);
+        }
+    }
+
+    static boolean hasPdfHeader(byte[] head) {
+        return indexOf(head, PDF_MAGIC) >= 0;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
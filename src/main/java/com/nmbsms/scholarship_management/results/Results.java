@@ -2,6 +2,8 @@ package com.nmbsms.scholarship_management.results;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nmbsms.scholarship_management.signUp.SignUp;
 
 @Entity
 @Getter
@@ -18,9 +20,18 @@ public class Results {
         private String fileName;
         private String fileType;
         private String student;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "student_id")
+        @JsonIgnore
+        private SignUp user;
         private String filePath;
         private long fileSize;
+        @Column(length = 64)
+        private String contentHash;
+        private Integer pageCount;
+        private Integer validationAttempts;
         private String email;
-        private String status;
+        @Column(columnDefinition = "TINYINT")
+        private ResultStatus status;
 }
 
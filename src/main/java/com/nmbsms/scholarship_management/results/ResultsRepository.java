@@ -1,10 +1,21 @@
 package com.nmbsms.scholarship_management.results;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import com.nmbsms.scholarship_management.signUp.SignUp;
 
 
 @Repository
@@ -13,27 +24,63 @@ public interface ResultsRepository extends JpaRepository<Results,Long>{
     Optional<Results> findByFileName(String fileName);
     Optional<Results> findByResultId(long resultId);
 
-    @Query("SELECT COUNT(r) FROM Results r WHERE r.status='SUBMITTED'")
-    Integer countTotalStudents();
+    @Query("SELECT DISTINCT r.contentHash FROM Results r WHERE r.contentHash IN :hashes")
+    List<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes);
 
-    @Query("SELECT COUNT(r) FROM Results r JOIN com.nmbsms.scholarship_management.signUp.SignUp s " +
-        "ON r.student = s.name WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND s.batchNo = 1 AND r.status = 'SUBMITTED'")
-    Integer countSubmittedBatch1();
+    // Rows from before content addressing; no new ones are written, so this set only shrinks.
+    @Query("SELECT r.filePath FROM Results r WHERE r.contentHash IS NULL AND r.filePath IN :paths")
+    List<String> findLegacyFilePaths(@Param("paths") Collection<String> paths);
 
-    @Query("SELECT COUNT(r) FROM Results r JOIN com.nmbsms.scholarship_management.signUp.SignUp s " +
-        "ON r.student = s.name WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
-        "AND s.batchNo = 2 AND r.status = 'SUBMITTED'")
-    Integer countSubmittedBatch2();
+    @Query("SELECT new com.nmbsms.scholarship_management.results.ResultReviewRow(r.resultId, s.id, r.email, r.fileName, r.status) " +
+        "FROM Results r LEFT JOIN r.user s WHERE r.resultId IN :resultIds")
+    List<ResultReviewRow> findReviewRows(@Param("resultIds") Collection<Long> resultIds);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.results.AdminResultsDTO(r.resultId,s.name,s.universityName,s.phoneNumber,s.batchNo,r.status,r.filePath) FROM Results r LEFT JOIN com.nmbsms.scholarship_management.signUp.SignUp s "+
-        "ON r.student=s.name WHERE (:status IS NOT NULL AND (:status IS NULL or r.status= :status)) "+
-        "AND s.batchNo = :batchNo ")
-    List<AdminResultsDTO> getResultsForBatch(@Param("status") String status,@Param("batchNo") Integer batchNo);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.resultId FROM Results r WHERE r.resultId IN :resultIds ORDER BY r.resultId")
+    List<Long> lockForUpdate(@Param("resultIds") Collection<Long> resultIds);
 
-   @Query("SELECT new com.nmbsms.scholarship_management.results.AdminResultsDTO(r.resultId,s.name,s.universityName,s.phoneNumber,s.batchNo,r.status,r.filePath) FROM Results r LEFT JOIN com.nmbsms.scholarship_management.signUp.SignUp s "+
-        "ON r.student=s.name WHERE r.status='REJECTED' "+
-        "AND r.student NOT IN (SELECT r2.student FROM Results r2 WHERE r2.status IN('SUBMITTED','APPROVED')) "+
-        "GROUP BY r.student")
+    @Modifying
+    @Query("UPDATE Results r SET r.status = :status WHERE r.resultId IN :resultIds AND r.status IN :fromStatuses")
+    int updateStatuses(@Param("resultIds") Collection<Long> resultIds, @Param("status") ResultStatus status,
+        @Param("fromStatuses") Collection<ResultStatus> fromStatuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Results r WHERE r.resultId = :resultId")
+    Optional<Results> findForUpdate(@Param("resultId") long resultId);
+
+    @Query("SELECT new com.nmbsms.scholarship_management.results.ResultPreviewRow(r.resultId, r.contentHash, r.filePath) " +
+        "FROM Results r WHERE r.resultId > :afterId AND r.contentHash IS NOT NULL " +
+        "AND r.status IN (com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED, com.nmbsms.scholarship_management.results.ResultStatus.APPROVED, " +
+        "com.nmbsms.scholarship_management.results.ResultStatus.REJECTED) ORDER BY r.resultId")
+    List<ResultPreviewRow> findPreviewCandidates(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT r.resultId FROM Results r WHERE r.status = com.nmbsms.scholarship_management.results.ResultStatus.PENDING_VALIDATION " +
+        "AND r.uploadTime < :uploadedBefore ORDER BY r.resultId")
+    List<Long> findPendingValidation(@Param("uploadedBefore") LocalDateTime uploadedBefore, Pageable pageable);
+    boolean existsByUserAndStatus(SignUp user, ResultStatus status);
+    boolean existsByUserAndStatusIn(SignUp user, Collection<ResultStatus> statuses);
+
+    @Query("SELECT new com.nmbsms.scholarship_management.results.AdminResultsDTO(r.resultId,s.name,s.universityName,s.phoneNumber,s.batchNo,r.status,r.filePath) FROM Results r JOIN r.user s "+
+        "WHERE (:status IS NULL OR r.status = :status) "+
+        "AND s.batchNo = :batchNo "+
+        "AND r.status NOT IN (com.nmbsms.scholarship_management.results.ResultStatus.PENDING_VALIDATION, com.nmbsms.scholarship_management.results.ResultStatus.INVALID)")
+    List<AdminResultsDTO> getResultsForBatch(@Param("status") ResultStatus status,@Param("batchNo") Integer batchNo);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.nmbsms.scholarship_management.results.ResultArchiveRow(r.resultId, s.name, s.batchNo, r.fileName, r.filePath) " +
+        "FROM Results r JOIN r.user s " +
+        "WHERE (:status IS NULL OR r.status = :status) " +
+        "AND s.batchNo = :batchNo " +
+        "AND r.status NOT IN (com.nmbsms.scholarship_management.results.ResultStatus.PENDING_VALIDATION, com.nmbsms.scholarship_management.results.ResultStatus.INVALID) " +
+        "ORDER BY r.resultId")
+    Stream<ResultArchiveRow> streamForArchive(@Param("status") ResultStatus status, @Param("batchNo") Integer batchNo);
+
+   @Query("SELECT new com.nmbsms.scholarship_management.results.AdminResultsDTO(r.resultId,s.name,s.universityName,s.phoneNumber,s.batchNo,r.status,r.filePath) FROM Results r JOIN r.user s "+
+        "WHERE r.status = com.nmbsms.scholarship_management.results.ResultStatus.REJECTED "+
+        "AND r.resultId = (SELECT MAX(r3.resultId) FROM Results r3 WHERE r3.user = s AND r3.status = com.nmbsms.scholarship_management.results.ResultStatus.REJECTED) "+
+        "AND NOT EXISTS (SELECT 1 FROM Results r2 WHERE r2.user = s AND r2.status IN(com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED, com.nmbsms.scholarship_management.results.ResultStatus.APPROVED))")
    List<AdminResultsDTO> getRejectedStudents();
-}
\ No newline at end of file
+}
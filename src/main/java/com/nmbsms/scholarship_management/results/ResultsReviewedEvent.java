@@ -0,0 +1,11 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class ResultsReviewedEvent {
+    // Student email to one line per changed result.
+    private final Map<String, List<String>> changesByEmail;
+}
@@ -0,0 +1,16 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadSessionDTO {
+    private String uploadId;
+    private String fileName;
+    private long size;
+    private int chunkSize;
+    private long receivedBytes;
+    private int nextChunk;
+    private boolean complete;
+}
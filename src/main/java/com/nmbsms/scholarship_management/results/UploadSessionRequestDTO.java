@@ -0,0 +1,15 @@
+package com.nmbsms.scholarship_management.results;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequestDTO {
+
+    private String fileName;
+    private Long size;
+    private String sha256;
+
+}
@@ -10,6 +10,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import jakarta.servlet.http.Cookie;
 import org.springframework.lang.NonNull;
 import com.nmbsms.scholarship_management.logout.LogoutService;
@@ -53,8 +56,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
     if (token != null && jwtService.validateToken(token)) {
         String email = jwtService.extractEmail(token);
+        String role = jwtService.extractRole(token);
+        // @PreAuthorize("hasRole('ADMIN')") checks for ROLE_ADMIN.
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (role != null) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
         UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+            new UsernamePasswordAuthenticationToken(email, null, authorities);
         SecurityContextHolder.getContext().setAuthentication(authToken);
     }
     filterChain.doFilter(request, response);
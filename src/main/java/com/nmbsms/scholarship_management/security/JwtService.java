@@ -5,6 +5,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecretKeyBuilder;
 import com.nmbsms.scholarship_management.configuration.Jwtproperties;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
 import java.util.Date;
 import javax.crypto.SecretKey;
 import org.springframework.stereotype.Service;
@@ -19,9 +20,10 @@ public class JwtService {
         this.secretKey = Jwts.SIG.HS256.key().build();
     }
 
-    public String generateToken(String email) {
+    public String generateToken(String email, UserRoles role) {
         return Jwts.builder()
                 .subject(email)
+                .claim("role", role == null ? null : role.name())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
                 .signWith(secretKey)
@@ -47,6 +49,15 @@ public class JwtService {
         return claims.get("batchNo", Integer.class);
     }
 
+    public String extractRole(String token) {
+        Claims claims = Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return claims.get("role", String.class);
+    }
+
     public Date extractExpiration(String token) {
         return Jwts.parser()
                 .verifyWith(secretKey)
@@ -3,10 +3,17 @@ package com.nmbsms.scholarship_management.settings;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 @Repository
 public interface NotificationPreferencesRepository extends JpaRepository<NotificationPreferences, Long> {
     Optional<NotificationPreferences> findByUserEmail(String email);
+
+    @Query("SELECT p.user.email FROM NotificationPreferences p WHERE p.user.email IN :emails AND p.receivePaymentUpdates = true")
+    List<String> findEmailsReceivingPaymentUpdates(@Param("emails") Collection<String> emails);
     
     
 }
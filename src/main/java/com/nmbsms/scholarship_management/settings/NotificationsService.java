@@ -3,6 +3,12 @@ import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import com.nmbsms.scholarship_management.signUp.SignUp;
 import java.time.LocalDateTime;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 
 
@@ -11,6 +17,8 @@ import java.time.LocalDateTime;
 public class NotificationsService {
     private final NotificationRepository notificationsRepository;
     private final NotificationPreferencesService notificationPreferencesService;
+    private final NotificationPreferencesRepository notificationPreferencesRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     public void notifyUserOfPaymentStatusChange(SignUp user, String message) {
         NotificationPreferences preferences= notificationPreferencesService.getPreferences(user.getEmail());
@@ -21,6 +29,25 @@ public class NotificationsService {
         }
     }
 
+    public void notifyUsersOfPaymentStatusChange(List<PaymentNotificationDTO> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Set<String> optedIn = new HashSet<>(notificationPreferencesRepository.findEmailsReceivingPaymentUpdates(
+            notifications.stream().map(PaymentNotificationDTO::getEmail).collect(Collectors.toSet())));
+        List<PaymentNotificationDTO> recipients = notifications.stream()
+            .filter(notification -> optedIn.contains(notification.getEmail()))
+            .toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (user_id, message, created_at, is_read) VALUES (?, ?, ?, false)",
+            recipients, recipients.size(), (ps, notification) -> {
+                ps.setLong(1, notification.getUserId());
+                ps.setString(2, notification.getMessage());
+                ps.setTimestamp(3, now);
+            });
+        recipients.forEach(notification -> sendEmail(notification.getEmail(), notification.getMessage()));
+    }
+
     private void sendEmail(String email, String message) {
         System.out.println("Sending email to " + email + ": " + message);
     }
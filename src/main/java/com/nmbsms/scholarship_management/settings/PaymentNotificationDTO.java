@@ -0,0 +1,12 @@
+package com.nmbsms.scholarship_management.settings;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentNotificationDTO {
+    private Long userId;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.nmbsms.scholarship_management.signUp;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCountsDTO {
+    private Integer batchNo;
+    private Long students;
+    private Long submitted;
+    private Long notSubmitted;
+    private Long withFeeControlNumber;
+    private Long withNhifControlNumber;
+}
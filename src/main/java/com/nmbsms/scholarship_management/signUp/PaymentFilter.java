@@ -0,0 +1,21 @@
+package com.nmbsms.scholarship_management.signUp;
+
+public enum PaymentFilter {
+    ANY,
+    NONE,
+    PENDING,
+    UNPAID,
+    SUBMITTED,
+    PAID;
+
+    public static PaymentFilter from(String value) {
+        if (value == null || value.isBlank()) {
+            return ANY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid payment filter: " + value);
+        }
+    }
+}
@@ -14,6 +14,8 @@ import com.nmbsms.scholarship_management.settings.NotificationPreferences;
 import com.nmbsms.scholarship_management.settings.Notifications;
 import java.util.List;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
+import com.nmbsms.scholarship_management.payment.PaymentStatus;
 
 @Entity
 @Getter
@@ -40,11 +42,13 @@ public class SignUp {
     private String enrollmentStatus;
     private UserRoles role;
     private String feeControlNumber;
-    private LocalDateTime feeControlNumberSubmittedAt;
-    private String feePaymentStatus;
+    @Column(columnDefinition = "TINYINT")
+    private PaymentStatus feePaymentStatus;
     private String nhifControlNumber;
-    private LocalDateTime nhifControlNumberSubmittedAt;
-    private String nhifPaymentStatus;
+    @Column(columnDefinition = "TINYINT")
+    private PaymentStatus nhifPaymentStatus;
+    @Version
+    private Long version;
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
     private NotificationPreferences notificationPreferences;
     @OneToMany(mappedBy="user", cascade = CascadeType.ALL)
@@ -1,150 +1,120 @@
 package com.nmbsms.scholarship_management.signUp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import jakarta.persistence.LockModeType;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
+import com.nmbsms.scholarship_management.results.ResultStatus;
 import java.util.List;
+import java.util.Collection;
+import com.nmbsms.scholarship_management.payment.PaymentStateRow;
+import org.springframework.data.jpa.repository.Modifying;
+import com.nmbsms.scholarship_management.payment.SubmissionStateRow;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
 
 
 @Repository
-public interface SignUpRepository extends JpaRepository<SignUp, Long> {
-    Optional<SignUp> findByEmail(String email);
-    Optional<SignUp> findByEmailAndToken(String email, String token);
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT")
-    Integer countTotalStudents();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND s.batchNo = 1")
-    Integer countBatch1();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND s.batchNo = 2")
-    Integer countBatch2();
-
-    @Query("SELECT COUNT(s) FROM SignUp s LEFT JOIN com.nmbsms.scholarship_management.results.Results r "+
-            "ON s.name = r.student WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
-            "AND (s.batchNo = 1 OR s.batchNo = 2) "+
-            "AND NOT EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.student = s.name AND r.status IN('SUBMITTED','REJECTED')) ")
-    Integer countNotSubmittedTotal();
-
-    @Query("SELECT COUNT(s) FROM SignUp s LEFT JOIN com.nmbsms.scholarship_management.results.Results r "+
-        "ON s.name = r.student WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
-        "AND s.batchNo = 1 AND NOT EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.student = s.name AND r.status IN('SUBMITTED','REJECTED'))")
-    Integer countNotSubmittedBatch1();
-
-    @Query("SELECT COUNT(s) FROM SignUp s LEFT JOIN com.nmbsms.scholarship_management.results.Results r "+
-        "ON s.name = r.student WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
-        "AND s.batchNo = 2 AND NOT EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.student = s.name AND r.status IN('SUBMITTED','REJECTED'))")
-    Integer countNotSubmittedBatch2();
-
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.NotSubmittedDTO(s.name,s.email,s.phoneNumber,s.universityName,s.batchNo) FROM SignUp s LEFT JOIN com.nmbsms.scholarship_management.results.Results r "+
-        "ON s.name = r.student WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
-        "AND (s.batchNo = 1 OR s.batchNo = 2) AND r.id IS NULL "+
-        "ORDER BY s.batchNo ASC")
-    List<NotSubmittedDTO> findNotSubmitted();
-
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentResultDTO(s.name, r.filePath, r.status) " +
-        "FROM SignUp s, com.nmbsms.scholarship_management.results.Results r " +
-        "WHERE s.email = r.email AND s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND (:batchNo IS NULL OR s.batchNo = :batchNo) " +
-        "AND (:status IS NULL OR r.status = :status) " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentResultDTO> findStudentsWithResults(@Param("batchNo") Integer batchNo, @Param("status") String status);
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.feeControlNumber IS NOT NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT")
-    Integer countTotalWithFeeControlNumber();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.nhifControlNumber IS NOT NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT")
-    Integer countTotalWithNhifControlNumber();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.feeControlNumber IS NOT NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=1")
-    Integer countTotalWithFeeControlNumberBatch1();
+public interface SignUpRepository extends JpaRepository<SignUp, Long>, SignUpRepositoryCustom {
+    String STUDENT_KEYSET = "AND s.batchNo IS NOT NULL " +
+        "AND (:afterBatchNo IS NULL OR s.batchNo > :afterBatchNo OR (s.batchNo = :afterBatchNo AND s.id > :afterId)) " +
+        "ORDER BY s.batchNo ASC, s.id ASC";
+    String RESULT_KEYSET = "AND s.batchNo IS NOT NULL " +
+        "AND (:afterBatchNo IS NULL OR s.batchNo > :afterBatchNo OR (s.batchNo = :afterBatchNo AND r.resultId > :afterId)) " +
+        "ORDER BY s.batchNo ASC, r.resultId ASC";
 
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.feeControlNumber IS NOT NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=2")
-    Integer countTotalWithFeeControlNumberBatch2();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.nhifControlNumber IS NOT NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=1")
-    Integer countTotalWithNhifControlNumberBatch1();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.nhifControlNumber IS NOT NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=2")
-    Integer countTotalWithNhifControlNumberBatch2();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.feeControlNumber IS NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT")
-    Integer countTotalNotWithFeeControlNumber();
-
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.nhifControlNumber IS  NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT")
-    Integer countTotalNotWithNhifControlNumber();
+    Optional<SignUp> findByEmail(String email);
 
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.feeControlNumber IS  NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=1")
-    Integer countTotalNotWithFeeControlNumberBatch1();
+    @Query("SELECT new com.nmbsms.scholarship_management.payment.PaymentStateRow(s.id, s.email, s.feeControlNumber, s.feePaymentStatus, " +
+        "s.nhifControlNumber, s.nhifPaymentStatus) FROM SignUp s WHERE s.email IN :emails")
+    List<PaymentStateRow> findPaymentStates(@Param("emails") Collection<String> emails);
 
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.feeControlNumber IS  NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=2")
-    Integer countTotalNotWithFeeControlNumberBatch2();
+    @Query("SELECT new com.nmbsms.scholarship_management.payment.PaymentStateRow(s.id, s.email, s.feeControlNumber, s.feePaymentStatus, " +
+        "s.nhifControlNumber, s.nhifPaymentStatus) FROM SignUp s WHERE s.feeControlNumber IN :controlNumbers")
+    List<PaymentStateRow> findPaymentStatesByFeeControlNumbers(@Param("controlNumbers") Collection<String> controlNumbers);
 
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.nhifControlNumber IS  NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=1")
-    Integer countTotalNotWithNhifControlNumberBatch1();
+    @Query("SELECT new com.nmbsms.scholarship_management.payment.PaymentStateRow(s.id, s.email, s.feeControlNumber, s.feePaymentStatus, " +
+        "s.nhifControlNumber, s.nhifPaymentStatus) FROM SignUp s WHERE s.nhifControlNumber IN :controlNumbers")
+    List<PaymentStateRow> findPaymentStatesByNhifControlNumbers(@Param("controlNumbers") Collection<String> controlNumbers);
 
-    @Query("SELECT COUNT(s) FROM SignUp s WHERE s.nhifControlNumber IS  NULL AND s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND batchNo=2")
-    Integer countTotaNotlWithNhifControlNumberBatch2();
+    @Query("SELECT new com.nmbsms.scholarship_management.payment.PaymentStateRow(s.id, s.email, s.feeControlNumber, s.feePaymentStatus, " +
+        "s.nhifControlNumber, s.nhifPaymentStatus) FROM SignUp s WHERE s.id IN :ids")
+    List<PaymentStateRow> findPaymentStatesByIds(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO(s.name,s.feePaymentStatus,s.nhifPaymentStatus,s.batchNo) FROM SignUp s "+
-        "WHERE s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND s.feePaymentStatus='PAID' AND s.nhifPaymentStatus='PAID' "+
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentWithPaidFeesAndNhif();
+    @Query("SELECT s.id FROM SignUp s WHERE s.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO(s.name,s.feePaymentStatus,s.nhifPaymentStatus,s.batchNo) FROM SignUp s "+
-        "WHERE s.role=com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
-        "AND s.feePaymentStatus IS NOT NULL AND s.nhifPaymentStatus IS NOT NULL "+
-        "ORDER BY CASE "+
-        "WHEN s.feePaymentStatus = 'SUBMITTED' AND s.nhifPaymentStatus = 'SUBMITTED' THEN 1 " +
-        "WHEN s.feePaymentStatus = 'SUBMITTED' AND s.nhifPaymentStatus = 'PAID' THEN 2 " +
-        "WHEN s.feePaymentStatus = 'PAID' AND s.nhifPaymentStatus = 'SUBMITTED' THEN 3 " +
-        "WHEN s.feePaymentStatus = 'PAID' AND s.nhifPaymentStatus = 'PAID' THEN 4 " +
-        "ELSE 5 END")
-        List<StudentPaymentStatusDTO> getStudentsWithControlNumber();
+    @Query("SELECT new com.nmbsms.scholarship_management.payment.SubmissionStateRow(s.id, s.role, s.batchNo, s.version, " +
+        "s.feeControlNumber, s.nhifControlNumber, s.feePaymentStatus, s.nhifPaymentStatus) FROM SignUp s WHERE s.email = :email")
+    Optional<SubmissionStateRow> findSubmissionState(@Param("email") String email);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO(s.name, s.feePaymentStatus, s.nhifPaymentStatus, s.batchNo) " +
-        "FROM SignUp s " +
-        "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND (s.feePaymentStatus != 'PAID' OR s.feePaymentStatus IS NULL) " +
-        "AND (s.nhifPaymentStatus != 'PAID' OR s.nhifPaymentStatus IS NULL) " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentsWithBothPending();
+    @Modifying
+    @Query("UPDATE SignUp s SET s.feeControlNumber = :controlNumber, " +
+        "s.feePaymentStatus = com.nmbsms.scholarship_management.payment.PaymentStatus.UNPAID, s.version = s.version + 1 " +
+        "WHERE s.email = :email AND s.version = :version " +
+        "AND (s.feePaymentStatus IS NULL OR s.feePaymentStatus <> com.nmbsms.scholarship_management.payment.PaymentStatus.PAID)")
+    int submitFeeControlNumber(@Param("email") String email, @Param("version") Long version, @Param("controlNumber") String controlNumber);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO(s.name, s.feePaymentStatus, s.nhifPaymentStatus, s.batchNo) " +
-        "FROM SignUp s " +
-        "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND s.nhifPaymentStatus = 'PAID' " +
-        "AND (s.feePaymentStatus != 'PAID' OR s.feePaymentStatus IS NULL) " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentsWithFeePending();
+    @Modifying
+    @Query("UPDATE SignUp s SET s.nhifControlNumber = :controlNumber, " +
+        "s.nhifPaymentStatus = com.nmbsms.scholarship_management.payment.PaymentStatus.UNPAID, s.version = s.version + 1 " +
+        "WHERE s.email = :email AND s.version = :version " +
+        "AND (s.nhifPaymentStatus IS NULL OR s.nhifPaymentStatus <> com.nmbsms.scholarship_management.payment.PaymentStatus.PAID)")
+    int submitNhifControlNumber(@Param("email") String email, @Param("version") Long version, @Param("controlNumber") String controlNumber);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentPaymentStatusDTO(s.name, s.feePaymentStatus, s.nhifPaymentStatus, s.batchNo) " +
-        "FROM SignUp s " +
-        "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND s.feePaymentStatus = 'PAID' " +
-        "AND (s.nhifPaymentStatus != 'PAID' OR s.nhifPaymentStatus IS NULL) " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentsWithNhifPending();
+    Optional<SignUp> findByEmailAndToken(String email, String token);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentNameDTO(s.name) " +
-        "FROM SignUp s " +
-        "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND (s.feePaymentStatus IS NULL AND s.nhifPaymentStatus IS NULL)  " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentsWithBothNull();
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM SignUp s WHERE s.id IN :ids ORDER BY s.id")
+    List<Long> lockForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.nmbsms.scholarship_management.signUp.BatchCountsDTO(s.batchNo, COUNT(s), " +
+        "SUM(CASE WHEN EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.user = s AND r.status = com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED) THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN NOT EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.user = s AND r.status IN(com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED, com.nmbsms.scholarship_management.results.ResultStatus.REJECTED)) THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN s.feeControlNumber IS NOT NULL THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN s.nhifControlNumber IS NOT NULL THEN 1 ELSE 0 END)) " +
+        "FROM SignUp s WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
+        "GROUP BY s.batchNo")
+    List<BatchCountsDTO> countDashboardByBatch();
+
+    @Query("SELECT new com.nmbsms.scholarship_management.signUp.BatchCountsDTO(s.batchNo, COUNT(s), " +
+        "SUM(CASE WHEN EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.user = s AND r.status = com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED) THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN NOT EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.user = s AND r.status IN(com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED, com.nmbsms.scholarship_management.results.ResultStatus.REJECTED)) THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN s.feeControlNumber IS NOT NULL THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN s.nhifControlNumber IS NOT NULL THEN 1 ELSE 0 END)) " +
+        "FROM SignUp s WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT AND s.id IN :studentIds " +
+        "GROUP BY s.batchNo")
+    List<BatchCountsDTO> countDashboardByBatchForStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentExportRow(s.id, s.name, s.email, s.phoneNumber, s.universityName, s.batchNo, " +
+        "s.feeControlNumber, s.feePaymentStatus, s.nhifControlNumber, s.nhifPaymentStatus, " +
+        "(SELECT r.status FROM com.nmbsms.scholarship_management.results.Results r WHERE r.user = s ORDER BY r.uploadTime DESC LIMIT 1)) " +
+        "FROM SignUp s WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
+        "AND (:batchNo IS NULL OR s.batchNo = :batchNo) " +
+        "ORDER BY s.batchNo ASC, s.id ASC")
+    Stream<StudentExportRow> streamForExport(@Param("batchNo") Integer batchNo);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentNameDTO(s.name) " +
-        "FROM SignUp s " +
-        "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND s.feePaymentStatus IS NULL " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentsWithFeeNull();
+    @Query("SELECT new com.nmbsms.scholarship_management.signUp.NotSubmittedDTO(s.id,s.name,s.email,s.phoneNumber,s.universityName,s.batchNo) FROM SignUp s "+
+        "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT "+
+        "AND NOT EXISTS (SELECT 1 FROM com.nmbsms.scholarship_management.results.Results r WHERE r.user = s " +
+        "AND r.status IN(com.nmbsms.scholarship_management.results.ResultStatus.SUBMITTED, com.nmbsms.scholarship_management.results.ResultStatus.REJECTED)) " + STUDENT_KEYSET)
+    List<NotSubmittedDTO> findNotSubmitted(@Param("afterBatchNo") Integer afterBatchNo, @Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentNameDTO(s.name) " +
-        "FROM SignUp s " +
+    @Query("SELECT new com.nmbsms.scholarship_management.signUp.StudentResultDTO(r.resultId, s.name, s.batchNo, r.filePath, r.status) " +
+        "FROM com.nmbsms.scholarship_management.results.Results r JOIN r.user s " +
         "WHERE s.role = com.nmbsms.scholarship_management.signUp.UserRoles.STUDENT " +
-        "AND s.nhifPaymentStatus IS NULL " +
-        "ORDER BY s.batchNo ASC")
-    List<StudentPaymentStatusDTO> getStudentsWithNhifnull();
+        "AND (:batchNo IS NULL OR s.batchNo = :batchNo) " +
+        "AND (:status IS NULL OR r.status = :status) " +
+        "AND r.status NOT IN (com.nmbsms.scholarship_management.results.ResultStatus.PENDING_VALIDATION, com.nmbsms.scholarship_management.results.ResultStatus.INVALID) " + RESULT_KEYSET)
+    List<StudentResultDTO> findStudentsWithResults(@Param("batchNo") Integer batchNo, @Param("status") ResultStatus status,
+        @Param("afterBatchNo") Integer afterBatchNo, @Param("afterId") Long afterId, Pageable pageable);
 }
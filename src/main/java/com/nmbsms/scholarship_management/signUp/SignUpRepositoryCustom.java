@@ -0,0 +1,6 @@
+package com.nmbsms.scholarship_management.signUp;
+import java.util.List;
+
+public interface SignUpRepositoryCustom {
+    List<StudentPaymentStatusDTO> findStudentPayments(StudentFilter filter, Integer afterBatchNo, Long afterId, int limit);
+}
@@ -0,0 +1,74 @@
+package com.nmbsms.scholarship_management.signUp;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import com.nmbsms.scholarship_management.payment.PaymentStatus;
+import java.util.ArrayList;
+import java.util.List;
+
+// Filters are ANDed onto the keyset scan of idx_sign_up_student_list, so every
+// combination reads the same covering index in (batchNo, id) order.
+public class SignUpRepositoryImpl implements SignUpRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentPaymentStatusDTO> findStudentPayments(StudentFilter filter, Integer afterBatchNo, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentPaymentStatusDTO> query = cb.createQuery(StudentPaymentStatusDTO.class);
+        Root<SignUp> s = query.from(SignUp.class);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(s.get("role"), UserRoles.STUDENT));
+        where.add(cb.isNotNull(s.get("batchNo")));
+        if (filter.getBatchNo() != null) {
+            where.add(cb.equal(s.get("batchNo"), filter.getBatchNo()));
+        }
+        if (filter.getUniversityName() != null && !filter.getUniversityName().isBlank()) {
+            where.add(cb.equal(s.get("universityName"), filter.getUniversityName().trim()));
+        }
+        addPaymentPredicate(cb, s.get("feePaymentStatus"), filter.getFee(), where);
+        addPaymentPredicate(cb, s.get("nhifPaymentStatus"), filter.getNhif(), where);
+        if (afterBatchNo != null) {
+            where.add(cb.or(
+                cb.greaterThan(s.get("batchNo"), afterBatchNo),
+                cb.and(cb.equal(s.get("batchNo"), afterBatchNo), cb.greaterThan(s.get("id"), afterId))));
+        }
+
+        query.select(cb.construct(StudentPaymentStatusDTO.class,
+                s.get("id"), s.get("name"), s.get("feePaymentStatus"), s.get("nhifPaymentStatus"), s.get("batchNo")))
+            .where(where.toArray(new Predicate[0]))
+            .orderBy(cb.asc(s.get("batchNo")), cb.asc(s.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    private static void addPaymentPredicate(CriteriaBuilder cb, Path<PaymentStatus> status, PaymentFilter filter, List<Predicate> where) {
+        switch (filter == null ? PaymentFilter.ANY : filter) {
+            case ANY:
+                break;
+            case NONE:
+                where.add(cb.isNull(status));
+                break;
+            case PENDING:
+                where.add(cb.or(cb.isNull(status), cb.notEqual(status, PaymentStatus.PAID)));
+                break;
+            case UNPAID:
+                where.add(cb.equal(status, PaymentStatus.UNPAID));
+                break;
+            case SUBMITTED:
+                where.add(cb.equal(status, PaymentStatus.SUBMITTED));
+                break;
+            case PAID:
+                where.add(cb.equal(status, PaymentStatus.PAID));
+                break;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.nmbsms.scholarship_management.security.JwtService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.ResponseEntity;
 import com.nmbsms.scholarship_management.exception.InvalidCredentialsException;
+import com.nmbsms.scholarship_management.admindashboard.DashboardCounterService;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -13,16 +15,19 @@ public class SignUpService {
     private final SignUpRepository signUpRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtUtil;
+    private final DashboardCounterService dashboardCounterService;
 
     SignUpDTO signUpDTO= new SignUpDTO();
     InitialSignUpDTO initialSignUpDTO= new InitialSignUpDTO();
     CreatePasswordDTO createPasswordDTO= new CreatePasswordDTO();
     ResetPasswordDTO resetPasswordDTO= new ResetPasswordDTO();
 
-    public SignUpService(SignUpRepository signUpRepository, PasswordEncoder passwordEncoder, JwtService jwtUtil) {
+    public SignUpService(SignUpRepository signUpRepository, PasswordEncoder passwordEncoder, JwtService jwtUtil,
+            DashboardCounterService dashboardCounterService) {
         this.signUpRepository = signUpRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     public ResponseEntity<String> initialSignUp(InitialSignUpDTO initialSignUpDTO){
@@ -55,11 +60,13 @@ public class SignUpService {
         return ResponseEntity.ok("Password set successfully");
     }
     
+    @Transactional
     public ResponseEntity<String> completeSignUp(SignUpDTO signUpDTO){
         Optional<SignUp> existingUser = signUpRepository.findByEmail(signUpDTO.getEmail());
 
         if(existingUser.isPresent()){
             SignUp student = existingUser.get();
+            dashboardCounterService.studentRemoved(student);
             student.setEmail(signUpDTO.getEmail());
             student.setName(signUpDTO.getName());
             student.setSex(signUpDTO.getSex());
@@ -72,6 +79,7 @@ public class SignUpService {
             student.setBatchNo(signUpDTO.getBatchNo());
             student.setRole(UserRoles.STUDENT);
             signUpRepository.save(student);
+            dashboardCounterService.studentAdded(student);
             return ResponseEntity.ok("Profile created successfully");
         } else {
             throw new EntityNotFoundException("User not found");
@@ -95,7 +103,7 @@ public class SignUpService {
     boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
 
     if (passwordMatches) {
-        String token = jwtUtil.generateToken(email);
+        String token = jwtUtil.generateToken(email, user.getRole());
         LoginResponseDTO loginResponseDTO = new LoginResponseDTO();
         loginResponseDTO.setId(user.getId());
         loginResponseDTO.setEmail(email);
@@ -0,0 +1,23 @@
+package com.nmbsms.scholarship_management.signUp;
+import lombok.*;
+import com.nmbsms.scholarship_management.results.ResultStatus;
+import com.nmbsms.scholarship_management.payment.PaymentStatus;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentExportRow {
+    private Long id;
+    private String name;
+    private String email;
+    private String phoneNumber;
+    private String universityName;
+    private Integer batchNo;
+    private String feeControlNumber;
+    private PaymentStatus feePaymentStatus;
+    private String nhifControlNumber;
+    private PaymentStatus nhifPaymentStatus;
+    private ResultStatus resultStatus;
+}
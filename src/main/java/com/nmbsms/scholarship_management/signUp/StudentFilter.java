@@ -0,0 +1,14 @@
+package com.nmbsms.scholarship_management.signUp;
+import lombok.*;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class StudentFilter {
+    private Integer batchNo;
+    @Builder.Default
+    private PaymentFilter fee = PaymentFilter.ANY;
+    @Builder.Default
+    private PaymentFilter nhif = PaymentFilter.ANY;
+    private String universityName;
+}
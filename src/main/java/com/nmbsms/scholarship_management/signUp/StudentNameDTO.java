@@ -1,11 +0,0 @@
-package com.nmbsms.scholarship_management.signUp;
-import lombok.*;
-
-@Getter
-@Setter
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class StudentNameDTO {
-    private String name;
-}
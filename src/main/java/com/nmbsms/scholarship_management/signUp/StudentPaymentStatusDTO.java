@@ -1,5 +1,6 @@
 package com.nmbsms.scholarship_management.signUp;
 import lombok.*;
+import com.nmbsms.scholarship_management.payment.PaymentStatus;
 
 @Getter
 @Setter
@@ -7,8 +8,9 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 public class StudentPaymentStatusDTO {
+    private Long id;
     private String name;
-    private String feePaymentStatus;
-    private String nhifPaymentStatus;
+    private PaymentStatus feePaymentStatus;
+    private PaymentStatus nhifPaymentStatus;
     private Integer batchNo;
 }
@@ -1,5 +1,6 @@
 package com.nmbsms.scholarship_management.signUp;
 import lombok.*;
+import com.nmbsms.scholarship_management.results.ResultStatus;
 
 @Getter
 @Setter
@@ -7,8 +8,10 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class StudentResultDTO {
+    private Long resultId;
     private String name;
+    private Integer batchNo;
     private String filepath;
-    private String status;
+    private ResultStatus status;
     
 }
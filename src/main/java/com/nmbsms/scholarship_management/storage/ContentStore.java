@@ -0,0 +1,125 @@
+package com.nmbsms.scholarship_management.storage;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store. Files are named by the SHA-256 of their bytes and sharded two
+ * directory levels deep ({@code ab/cd/abcd...}) so no single directory grows large, and storing
+ * content that is already present costs no extra disk.
+ */
+@Component
+public class ContentStore {
+    private static final String TEMP_DIR = "tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Streams {@code in} under {@code root}, hashing it while it is written. */
+    public StoredFile store(Path root, InputStream in) throws IOException {
+        Path tempDir = tempDir(root);
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(root, hash);
+            if (Files.exists(target)) {
+                // Marks the file as freshly claimed so the orphan sweeper leaves it alone.
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return new StoredFile(hash, size, target, false);
+            }
+            Files.createDirectories(target.getParent());
+            boolean created = move(temp, target);
+            return new StoredFile(hash, size, target, created);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Moves a fully written file under {@code root} after checking it hashes to {@code expectedHash}.
+     * The source must be on the same file system, e.g. in the root's temp directory.
+     */
+    public StoredFile importFile(Path root, Path source, String expectedHash) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (InputStream in = Files.newInputStream(source)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        if (!hash.equalsIgnoreCase(expectedHash)) {
+            throw new IllegalArgumentException("Uploaded content does not match the expected SHA-256 hash");
+        }
+        Path target = resolve(root, hash);
+        if (Files.exists(target)) {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            Files.deleteIfExists(source);
+            return new StoredFile(hash, size, target, false);
+        }
+        Files.createDirectories(target.getParent());
+        boolean created = move(source, target);
+        Files.deleteIfExists(source);
+        return new StoredFile(hash, size, target, created);
+    }
+
+    public Path tempDir(Path root) {
+        return root.resolve(TEMP_DIR);
+    }
+
+    public Path resolve(Path root, String hash) {
+        if (hash == null || hash.length() != 64 || !hash.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new IllegalArgumentException("Invalid content hash");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static boolean move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+                return true;
+            } catch (FileAlreadyExistsException raced) {
+                return false;
+            }
+        } catch (FileAlreadyExistsException raced) {
+            // A concurrent upload of the same bytes got there first.
+            return false;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.nmbsms.scholarship_management.storage;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads one file part straight off a multipart request body. Spring's multipart resolver is
+ * disabled, so nothing is spooled to a temp file first: the part is handed over as it arrives and
+ * size limits are enforced while it is read.
+ */
+@Component
+public class MultipartStreamReader {
+    // Room for the part headers, the boundaries and any small form fields sent alongside the file.
+    private static final long REQUEST_OVERHEAD = 64 * 1024;
+
+    @Value("${file.upload.max-file-size:5MB}")
+    private DataSize defaultMaxFileSize;
+
+    @FunctionalInterface
+    public interface FilePartHandler<T> {
+        T handle(String fileName, String contentType, InputStream in) throws IOException;
+    }
+
+    public <T> T readFile(HttpServletRequest request, String fieldName, FilePartHandler<T> handler) throws IOException {
+        return readFile(request, fieldName, defaultMaxFileSize, handler);
+    }
+
+    /** Passes the first file part named {@code fieldName} to {@code handler}; other parts are skipped unread. */
+    public <T> T readFile(HttpServletRequest request, String fieldName, DataSize maxFileSize, FilePartHandler<T> handler) throws IOException {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("Expected a multipart/form-data request.");
+        }
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setFileSizeMax(maxFileSize.toBytes());
+        upload.setSizeMax(maxFileSize.toBytes() + REQUEST_OVERHEAD);
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                if (item.isFormField() || !fieldName.equals(item.getFieldName())) {
+                    continue;
+                }
+                String fileName = item.getName();
+                if (fileName != null && fileName.contains("..")) {
+                    throw new IllegalArgumentException("Invalid file format");
+                }
+                try (InputStream in = new BufferedInputStream(item.getInputStream())) {
+                    in.mark(1);
+                    if (in.read() == -1) {
+                        throw new IllegalArgumentException("File is empty.");
+                    }
+                    in.reset();
+                    return handler.handle(fileName, item.getContentType(), in);
+                }
+            }
+        } catch (FileUploadSizeException e) {
+            throw new IllegalArgumentException("File size exceeds " + maxFileSize.toMegabytes() + "MB.");
+        }
+        throw new IllegalArgumentException("Required file part '" + fieldName + "' is missing.");
+    }
+}
@@ -0,0 +1,288 @@
+package com.nmbsms.scholarship_management.storage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.nmbsms.scholarship_management.careermentorship.DocumentRepository;
+import com.nmbsms.scholarship_management.results.ResultUploadService;
+import com.nmbsms.scholarship_management.results.ResultUploadSessionRepository;
+import com.nmbsms.scholarship_management.results.ResultsRepository;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Finds files under {@code file.upload-dir} that no result or document row points at. The tree
+ * is walked lazily and checked against the database a chunk at a time; orphans are moved to a
+ * dated quarantine folder first and only deleted once that folder is older than the retention
+ * period, so a bad sweep can be undone by moving files back. Files younger than the grace
+ * period are never touched because their row may not have committed yet.
+ */
+@Component
+public class OrphanFileSweeper {
+    private static final Logger log = LoggerFactory.getLogger(OrphanFileSweeper.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final String QUARANTINE_DIR = ".quarantine";
+    private static final String RESULTS_DIR = "results";
+    private static final String DOCUMENTS_DIR = "documents";
+    private static final String PREVIEWS_DIR = "previews";
+    private static final String TEMP_DIR = "tmp";
+
+    private final ResultsRepository resultsRepository;
+    private final DocumentRepository documentRepository;
+    private final ResultUploadSessionRepository uploadSessionRepository;
+    private final Path configuredDir;
+    private final Path baseDir;
+    private final Duration grace;
+    private final int quarantineDays;
+    private volatile OrphanSweepReport lastReport;
+
+    public OrphanFileSweeper(ResultsRepository resultsRepository,
+                             DocumentRepository documentRepository,
+                             ResultUploadSessionRepository uploadSessionRepository,
+                             @Value("${file.upload-dir}") String uploadDir,
+                             @Value("${file.orphan-sweep.grace-hours:24}") long graceHours,
+                             @Value("${file.orphan-sweep.quarantine-days:7}") int quarantineDays) {
+        this.resultsRepository = resultsRepository;
+        this.documentRepository = documentRepository;
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.configuredDir = Paths.get(uploadDir);
+        this.baseDir = configuredDir.toAbsolutePath().normalize();
+        this.grace = Duration.ofHours(graceHours);
+        this.quarantineDays = quarantineDays;
+    }
+
+    public OrphanSweepReport getLastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(cron = "${file.orphan-sweep.cron:0 30 2 * * *}")
+    public synchronized OrphanSweepReport sweep() {
+        OrphanSweepReport report = new OrphanSweepReport();
+        report.setStartedAt(LocalDateTime.now());
+        Instant cutoff = Instant.now().minus(grace);
+        try {
+            purgeQuarantine(report);
+            Path results = baseDir.resolve(RESULTS_DIR);
+            scan(results, Set.of(PREVIEWS_DIR), cutoff, report,
+                resultsRepository::findExistingContentHashes, resultsRepository::findLegacyFilePaths);
+            scan(results.resolve(PREVIEWS_DIR), Set.of(), cutoff, report,
+                resultsRepository::findExistingContentHashes, paths -> List.of());
+            scan(baseDir.resolve(DOCUMENTS_DIR), Set.of(), cutoff, report,
+                documentRepository::findExistingContentHashes, documentRepository::findLegacyFilePaths);
+            // Documents used to be written straight into the base directory.
+            scanTopLevel(cutoff, report);
+        } catch (IOException e) {
+            log.error("Orphan file sweep stopped early", e);
+        }
+        report.setFinishedAt(LocalDateTime.now());
+        lastReport = report;
+        log.info("Orphan file sweep scanned {} files, quarantined {} ({} bytes), deleted {} and reclaimed {} bytes",
+            report.getFilesScanned(), report.getOrphansQuarantined(), report.getBytesQuarantined(),
+            report.getFilesDeleted(), report.getBytesReclaimed());
+        return report;
+    }
+
+    private void scan(Path root, Set<String> skipDirs, Instant cutoff, OrphanSweepReport report,
+                      Function<Collection<String>, List<String>> existingHashes,
+                      Function<Collection<String>, List<String>> legacyPaths) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> chunk = new ArrayList<>(CHUNK_SIZE);
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return !dir.equals(root) && skipDirs.contains(dir.getFileName().toString())
+                    ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!attrs.isRegularFile() || attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                report.setFilesScanned(report.getFilesScanned() + 1);
+                if (TEMP_DIR.equals(file.getParent().getFileName().toString())) {
+                    // Leftovers of uploads that died half way, except the staging files of resumable
+                    // uploads, which live as long as their session whatever its TTL.
+                    if (!isLiveStagingFile(file)) {
+                        delete(file, attrs.size(), report);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+                chunk.add(file);
+                if (chunk.size() == CHUNK_SIZE) {
+                    resolveChunk(chunk, cutoff, report, existingHashes, legacyPaths);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                log.warn("Could not read {} during orphan sweep", file, e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        resolveChunk(chunk, cutoff, report, existingHashes, legacyPaths);
+    }
+
+    private void scanTopLevel(Instant cutoff, OrphanSweepReport report) throws IOException {
+        if (!Files.isDirectory(baseDir)) {
+            return;
+        }
+        List<Path> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(baseDir, Files::isRegularFile)) {
+            for (Path file : entries) {
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                report.setFilesScanned(report.getFilesScanned() + 1);
+                chunk.add(file);
+                if (chunk.size() == CHUNK_SIZE) {
+                    resolveChunk(chunk, cutoff, report, hashes -> List.of(), documentRepository::findLegacyFilePaths);
+                }
+            }
+        }
+        resolveChunk(chunk, cutoff, report, hashes -> List.of(), documentRepository::findLegacyFilePaths);
+    }
+
+    private void resolveChunk(List<Path> chunk, Instant cutoff, OrphanSweepReport report,
+                              Function<Collection<String>, List<String>> existingHashes,
+                              Function<Collection<String>, List<String>> legacyPaths) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> hashes = new HashSet<>();
+        Map<String, Path> legacyForms = new HashMap<>();
+        for (Path file : chunk) {
+            if (isContentHash(file.getFileName().toString())) {
+                hashes.add(file.getFileName().toString());
+            } else {
+                for (String form : storedForms(file)) {
+                    legacyForms.put(form, file);
+                }
+            }
+        }
+        Set<String> referenced = hashes.isEmpty() ? Set.of() : new HashSet<>(existingHashes.apply(hashes));
+        Set<Path> referencedLegacy = new HashSet<>();
+        if (!legacyForms.isEmpty()) {
+            for (String path : legacyPaths.apply(legacyForms.keySet())) {
+                referencedLegacy.add(legacyForms.get(path));
+            }
+        }
+        for (Path file : chunk) {
+            String name = file.getFileName().toString();
+            boolean inUse = isContentHash(name) ? referenced.contains(name) : referencedLegacy.contains(file);
+            // A deduplicated re-upload touches the file, so a fresh timestamp means it was just claimed.
+            if (!inUse && Files.exists(file) && !Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                quarantine(file, report);
+            }
+        }
+        chunk.clear();
+    }
+
+    private void quarantine(Path file, OrphanSweepReport report) throws IOException {
+        Path target = baseDir.resolve(QUARANTINE_DIR).resolve(LocalDate.now().toString()).resolve(baseDir.relativize(file));
+        Files.createDirectories(target.getParent());
+        long size = Files.size(file);
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        report.setOrphansQuarantined(report.getOrphansQuarantined() + 1);
+        report.setBytesQuarantined(report.getBytesQuarantined() + size);
+        log.info("Quarantined orphaned upload {}", file);
+    }
+
+    private void purgeQuarantine(OrphanSweepReport report) throws IOException {
+        Path quarantine = baseDir.resolve(QUARANTINE_DIR);
+        if (!Files.isDirectory(quarantine)) {
+            return;
+        }
+        LocalDate expiry = LocalDate.now().minusDays(quarantineDays);
+        try (DirectoryStream<Path> days = Files.newDirectoryStream(quarantine, Files::isDirectory)) {
+            for (Path day : days) {
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(day.getFileName().toString());
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (date.isBefore(expiry)) {
+                    deleteTree(day, report);
+                }
+            }
+        }
+    }
+
+    private void deleteTree(Path root, OrphanSweepReport report) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                delete(file, attrs.size(), report);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                Files.deleteIfExists(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void delete(Path file, long size, OrphanSweepReport report) throws IOException {
+        if (Files.deleteIfExists(file)) {
+            report.setFilesDeleted(report.getFilesDeleted() + 1);
+            report.setBytesReclaimed(report.getBytesReclaimed() + size);
+        }
+    }
+
+    // Legacy rows hold whatever Paths.get(uploadDir).resolve(name) printed when they were written, so each
+    // file is looked up under the configured form, the normalized relative form and the absolute path.
+    private Set<String> storedForms(Path file) {
+        Path relative = baseDir.relativize(file);
+        Path fromWorkingDir = Paths.get("").toAbsolutePath().relativize(file);
+        Set<String> forms = new LinkedHashSet<>();
+        forms.add(configuredDir.resolve(relative).toString());
+        forms.add(configuredDir.normalize().resolve(relative).toString());
+        forms.add(fromWorkingDir.toString());
+        forms.add(Paths.get(".").resolve(fromWorkingDir).toString());
+        forms.add(file.toString());
+        return forms;
+    }
+
+    private boolean isLiveStagingFile(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(ResultUploadService.STAGING_PREFIX) || !name.endsWith(ResultUploadService.STAGING_SUFFIX)) {
+            return false;
+        }
+        String uploadId = name.substring(ResultUploadService.STAGING_PREFIX.length(),
+            name.length() - ResultUploadService.STAGING_SUFFIX.length());
+        return uploadSessionRepository.existsById(uploadId);
+    }
+
+    private static boolean isContentHash(String name) {
+        return name.length() == 64 && name.chars().allMatch(HexFormat::isHexDigit);
+    }
+}
@@ -0,0 +1,16 @@
+package com.nmbsms.scholarship_management.storage;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrphanSweepReport {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long filesScanned;
+    private long orphansQuarantined;
+    private long bytesQuarantined;
+    private long filesDeleted;
+    private long bytesReclaimed;
+}
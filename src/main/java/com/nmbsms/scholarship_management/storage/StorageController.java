@@ -0,0 +1,19 @@
+package com.nmbsms.scholarship_management.storage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "api/admin/storage")
+public class StorageController {
+    private final OrphanFileSweeper orphanFileSweeper;
+
+    @GetMapping("/orphan-sweep")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OrphanSweepReport> getLastOrphanSweep() {
+        OrphanSweepReport report = orphanFileSweeper.getLastReport();
+        return report == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+    }
+}
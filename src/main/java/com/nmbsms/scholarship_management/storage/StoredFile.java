@@ -0,0 +1,13 @@
+package com.nmbsms.scholarship_management.storage;
+import java.nio.file.Path;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class StoredFile {
+    private String hash;
+    private long size;
+    private Path path;
+    // False when identical content was already on disk and the upload was discarded.
+    private boolean created;
+}
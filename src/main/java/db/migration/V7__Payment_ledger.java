@@ -0,0 +1,47 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Seeds payment_events from the payment columns on sign_up and drops the submitted-at columns
+ * the ledger replaces. Written in Java because a schema created after the entity change never
+ * had those columns, and the SQL has to adapt to either case.
+ */
+public class V7__Payment_ledger extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_payment_events_student ON payment_events (student_id, id)");
+            seed(connection, statement, "FEE", "fee_control_number", "fee_payment_status", "fee_control_number_submitted_at");
+            seed(connection, statement, "NHIF", "nhif_control_number", "nhif_payment_status", "nhif_control_number_submitted_at");
+        }
+    }
+
+    private static void seed(Connection connection, Statement statement, String type, String number, String status,
+            String submittedAt) throws SQLException {
+        boolean hasSubmittedAt = hasColumn(connection, "sign_up", submittedAt);
+        String createdAt = hasSubmittedAt ? "COALESCE(" + submittedAt + ", CURRENT_TIMESTAMP)" : "CURRENT_TIMESTAMP";
+        statement.execute("INSERT INTO payment_events (student_id, payment_type, event_type, control_number, status, created_at) " +
+            "SELECT id, '" + type + "', 'CONTROL_NUMBER_SUBMITTED', " + number + ", 3, " + createdAt +
+            " FROM sign_up WHERE " + number + " IS NOT NULL ORDER BY id");
+        statement.execute("INSERT INTO payment_events (student_id, payment_type, event_type, control_number, status, created_at) " +
+            "SELECT id, '" + type + "', 'STATUS_CHANGED', " + number + ", " + status + ", " + createdAt +
+            " FROM sign_up WHERE " + number + " IS NOT NULL AND " + status + " IS NOT NULL AND " + status + " <> 3 ORDER BY id");
+        if (hasSubmittedAt) {
+            statement.execute("ALTER TABLE sign_up DROP COLUMN " + submittedAt);
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Orphan sweeps look legacy (pre content-addressing) rows up by path, a chunk of files at a time.
+CREATE INDEX idx_results_file_path ON results (file_path);
+CREATE INDEX idx_document_file_path ON document (file_path);
@@ -0,0 +1,4 @@
+CREATE INDEX idx_sign_up_role_batch_payments ON sign_up (role, batch_no, fee_payment_status, nhif_payment_status);
+CREATE INDEX idx_results_email_status ON results (email, status);
+CREATE INDEX idx_blacklisted_tokens_token ON blacklisted_tokens (token);
+CREATE INDEX idx_announcements_batch_created ON announcements (batch_no, created_at);
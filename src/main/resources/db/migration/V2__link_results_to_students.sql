@@ -0,0 +1,2 @@
+UPDATE results SET student_id = (SELECT s.id FROM sign_up s WHERE s.email = results.email)
+WHERE student_id IS NULL AND email IS NOT NULL;
@@ -0,0 +1,13 @@
+UPDATE sign_up SET fee_payment_status = CASE UPPER(fee_payment_status)
+    WHEN 'SUBMITTED' THEN '1' WHEN 'PAID' THEN '2' WHEN 'UNPAID' THEN '3'
+    WHEN '1' THEN '1' WHEN '2' THEN '2' WHEN '3' THEN '3' ELSE NULL END;
+UPDATE sign_up SET nhif_payment_status = CASE UPPER(nhif_payment_status)
+    WHEN 'SUBMITTED' THEN '1' WHEN 'PAID' THEN '2' WHEN 'UNPAID' THEN '3'
+    WHEN '1' THEN '1' WHEN '2' THEN '2' WHEN '3' THEN '3' ELSE NULL END;
+UPDATE results SET status = CASE UPPER(status)
+    WHEN 'SUBMITTED' THEN '1' WHEN 'APPROVED' THEN '2' WHEN 'REJECTED' THEN '3'
+    WHEN '1' THEN '1' WHEN '2' THEN '2' WHEN '3' THEN '3' ELSE NULL END;
+
+ALTER TABLE sign_up MODIFY fee_payment_status TINYINT NULL;
+ALTER TABLE sign_up MODIFY nhif_payment_status TINYINT NULL;
+ALTER TABLE results MODIFY status TINYINT NULL;
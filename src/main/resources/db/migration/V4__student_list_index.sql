@@ -0,0 +1 @@
+CREATE INDEX idx_sign_up_student_list ON sign_up (role, batch_no, id, fee_payment_status, nhif_payment_status, university_name, name);
@@ -0,0 +1,2 @@
+CREATE INDEX idx_sign_up_fee_control_number ON sign_up (fee_control_number);
+CREATE INDEX idx_sign_up_nhif_control_number ON sign_up (nhif_control_number);
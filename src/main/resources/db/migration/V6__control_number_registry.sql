@@ -0,0 +1,4 @@
+INSERT IGNORE INTO control_number_registry (control_number, student_id, payment_type)
+SELECT fee_control_number, id, 'FEE' FROM sign_up WHERE fee_control_number IS NOT NULL ORDER BY id;
+INSERT IGNORE INTO control_number_registry (control_number, student_id, payment_type)
+SELECT nhif_control_number, id, 'NHIF' FROM sign_up WHERE nhif_control_number IS NOT NULL ORDER BY id;
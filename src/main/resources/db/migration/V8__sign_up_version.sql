@@ -0,0 +1,2 @@
+-- Rows created before sign_up.version existed; Hibernate only fills it in on insert.
+UPDATE sign_up SET version = 0 WHERE version IS NULL;
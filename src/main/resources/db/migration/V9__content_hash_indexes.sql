@@ -0,0 +1 @@
+CREATE INDEX idx_results_content_hash ON results (content_hash);
@@ -0,0 +1,112 @@
+package com.nmbsms.scholarship_management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs EXPLAIN for the hot repository predicates against MySQL with the migrations applied and
+ * fails when one of them falls back to a full table scan. Skipped when Docker is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final int STUDENTS = 5000;
+    private static final int BATCHES = 20;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Mirrors the WHERE/ORDER BY of the repository queries each index was added for.
+    static List<String> hotQueries() {
+        return List.of(
+            // SignUpRepository.findNotSubmitted / STUDENT_KEYSET, second page of a late batch
+            "SELECT s.id, s.name FROM sign_up s WHERE s.role = 0 AND s.batch_no IS NOT NULL "
+                + "AND (s.batch_no > 17 OR (s.batch_no = 17 AND s.id > 4300)) ORDER BY s.batch_no, s.id LIMIT 50",
+            // student filters by batch and payment status
+            "SELECT s.id FROM sign_up s WHERE s.role = 0 AND s.batch_no = 5 AND s.fee_payment_status = 2 AND s.nhif_payment_status = 1",
+            // SignUpRepository.findByEmail
+            "SELECT s.id FROM sign_up s WHERE s.email = 'student42@test.com'",
+            // SignUpRepository.findPaymentStatesByFeeControlNumbers / ByNhifControlNumbers
+            "SELECT s.id FROM sign_up s WHERE s.fee_control_number IN ('990000000042', '990000000043')",
+            "SELECT s.id FROM sign_up s WHERE s.nhif_control_number IN ('880000000042', '880000000043')",
+            // results of one student by status
+            "SELECT r.result_id FROM results r WHERE r.email = 'student42@test.com' AND r.status = 1",
+            // ResultsRepository.existsByUserAndStatus
+            "SELECT r.result_id FROM results r WHERE r.student_id = 42 AND r.status = 1 LIMIT 1",
+            // ResultsRepository.findExistingContentHashes
+            "SELECT DISTINCT r.content_hash FROM results r WHERE r.content_hash IN ('hash-42', 'hash-43')",
+            // BlackListedTokenRepository.existsByToken
+            "SELECT t.id FROM blacklisted_tokens t WHERE t.token = 'token-42' LIMIT 1",
+            // AnnouncementRepository.findAllByBatchNoIn, newest first
+            "SELECT a.id FROM announcements a WHERE a.batch_no IN (5) ORDER BY a.created_at DESC LIMIT 10");
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> results = new ArrayList<>();
+        List<Object[]> tokens = new ArrayList<>();
+        List<Object[]> announcements = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM sign_up", Long.class);
+        for (long n = 1; n <= STUDENTS; n++) {
+            long id = lastId + n;
+            int batchNo = (int) ((n - 1) * BATCHES / STUDENTS) + 1;
+            String email = "student" + n + "@test.com";
+            students.add(new Object[] {id, email, "Student " + n, 0, batchNo,
+                String.format("99%010d", n), (int) (n % 3) + 1, String.format("88%010d", n), (int) (n % 3) + 1});
+            results.add(new Object[] {id, email, (int) (n % 3) + 1, "hash-" + n, "result-" + n + ".pdf", now});
+            tokens.add(new Object[] {"token-" + n, System.currentTimeMillis()});
+            announcements.add(new Object[] {"Announcement " + n, batchNo, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO sign_up (id, email, name, role, batch_no, fee_control_number, fee_payment_status, "
+            + "nhif_control_number, nhif_payment_status, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", students);
+        jdbcTemplate.batchUpdate("INSERT INTO results (student_id, email, status, content_hash, file_name, upload_time, file_size) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0)", results);
+        jdbcTemplate.batchUpdate("INSERT INTO blacklisted_tokens (token, expiry_date) VALUES (?, ?)", tokens);
+        jdbcTemplate.batchUpdate("INSERT INTO announcements (title, batch_no, created_at, is_read) VALUES (?, ?, ?, false)", announcements);
+        jdbcTemplate.execute("ANALYZE TABLE sign_up, results, blacklisted_tokens, announcements");
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotQueries")
+    void hotQueryDoesNotScanTheWholeTable(String sql) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+
+        assertThat(plan)
+            .as("EXPLAIN %s%n%s", sql, plan)
+            .noneMatch(row -> "ALL".equalsIgnoreCase(String.valueOf(row.get("type"))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.nmbsms.scholarship_management;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The streaming repository queries pass MySQL's {@code Integer.MIN_VALUE} fetch size, which H2
+ * rejects. Tests run against H2, so negative fetch sizes are dropped on the way to the driver.
+ */
+@Configuration
+@Profile("test")
+public class TestDatabaseConfig {
+
+    @Bean
+    static BeanPostProcessor streamingFetchSizeFilter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return wrap(super.getConnection());
+                        }
+
+                        @Override
+                        public Connection getConnection(String username, String password) throws SQLException {
+                            return wrap(super.getConnection(username, password));
+                        }
+                    };
+                }
+                return bean;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(T target) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(target.getClass(), TestDatabaseConfig.class.getClassLoader());
+        return (T) Proxy.newProxyInstance(TestDatabaseConfig.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+            if (method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+                return null;
+            }
+            try {
+                Object result = method.invoke(target, args);
+                if (result instanceof Statement statement && !(result instanceof Proxy)) {
+                    return wrap(statement);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.nmbsms.scholarship_management.admindashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import com.nmbsms.scholarship_management.results.ResultService;
+import com.nmbsms.scholarship_management.results.ResultStatus;
+import com.nmbsms.scholarship_management.results.Results;
+import com.nmbsms.scholarship_management.results.ResultsRepository;
+import com.nmbsms.scholarship_management.signUp.BatchCountsDTO;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * Approves both results of one student at once, holding each writer after its "removed" snapshot
+ * so the other can take one. Without the student lock the second snapshot predates the first
+ * writer's commit, that change is subtracted twice and the submitted counter goes negative.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardCounterConcurrencyTest {
+    private static final int BATCH = 77;
+
+    @Autowired
+    private DashboardCounterRepository counterRepository;
+    @Autowired
+    private ResultService resultService;
+    @Autowired
+    private ResultsRepository resultsRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @MockitoSpyBean
+    private DashboardCounterService dashboardCounterService;
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void concurrentReviewsOfOneStudentAreCountedOnce() throws Exception {
+        SignUp student = student("counter@test.com");
+        long first = result(student, "counter-a.pdf", ResultStatus.SUBMITTED);
+        long second = result(student, "counter-b.pdf", ResultStatus.REJECTED);
+        dashboardCounterService.reconcile();
+
+        // Neither writer passes the barrier: the second blocks either on the student lock or on the
+        // counter row the first has adjusted, so the first waits out the timeout and commits.
+        CyclicBarrier bothSnapshotted = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            try {
+                bothSnapshotted.await(500, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | BrokenBarrierException e) {
+                // proceed alone
+            }
+            return null;
+        }).when(dashboardCounterService).resultsRemoved(any(SignUp.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = executor.submit(() -> resultService.updateResultStatus(first, "APPROVED"));
+            Future<?> b = executor.submit(() -> resultService.updateResultStatus(second, "APPROVED"));
+            a.get();
+            b.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        BatchCountsDTO actual = signUpRepository.countDashboardByBatch().stream()
+            .filter(batch -> batch.getBatchNo() == BATCH).findFirst().orElseThrow();
+        DashboardCounter counter = counterRepository.findById(BATCH).orElseThrow();
+        assertThat(counter.getSubmitted()).isEqualTo(actual.getSubmitted()).isZero();
+        assertThat(counter.getNotSubmitted()).isEqualTo(actual.getNotSubmitted()).isEqualTo(1);
+    }
+
+    private SignUp student(String email) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(BATCH);
+        return signUpRepository.save(student);
+    }
+
+    private long result(SignUp student, String fileName, ResultStatus status) {
+        Results result = new Results();
+        result.setUser(student);
+        result.setStudent(student.getName());
+        result.setEmail(student.getEmail());
+        result.setFileName(fileName);
+        result.setFilePath(fileName);
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(status);
+        return resultsRepository.save(result).getResultId();
+    }
+}
@@ -0,0 +1,124 @@
+package com.nmbsms.scholarship_management.admindashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.signUp.BatchCountsDTO;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+
+/**
+ * Times the grouped dashboard query against the 21 COUNT queries getDashboard() used to issue.
+ * Not part of {@code test}; run with {@code gradle benchmark}. Defaults to the H2 test database,
+ * pass {@code -Dspring.datasource.url=...} (plus username, password, driver and dialect) to run it
+ * against MySQL. {@code -Dbenchmark.students}, {@code -Dbenchmark.warmup} and
+ * {@code -Dbenchmark.iterations} size the run; the legacy side takes minutes per run at 50k.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardQueryBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(DashboardQueryBenchmark.class);
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 50_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 3);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 0);
+
+    // The previous counters in the order getDashboard() ran them, translated to SQL against the
+    // current schema (role and status codes). Results were still matched to students by name.
+    private static final String NOT_SUBMITTED = "SELECT COUNT(*) FROM sign_up s LEFT JOIN results r ON s.name = r.student "
+        + "WHERE s.role = 0 AND %s AND NOT EXISTS (SELECT 1 FROM results r2 WHERE r2.student = s.name AND r2.status IN (1, 3))";
+    private static final String SUBMITTED = "SELECT COUNT(*) FROM results r JOIN sign_up s ON r.student = s.name "
+        + "WHERE s.role = 0 AND s.batch_no = %d AND r.status = 1";
+    private static final List<String> LEGACY_COUNTS = List.of(
+        "SELECT COUNT(*) FROM sign_up s WHERE s.role = 0",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.role = 0 AND s.batch_no = 1",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.role = 0 AND s.batch_no = 2",
+        "SELECT COUNT(*) FROM results r WHERE r.status = 1",
+        SUBMITTED.formatted(1),
+        SUBMITTED.formatted(2),
+        NOT_SUBMITTED.formatted("(s.batch_no = 1 OR s.batch_no = 2)"),
+        NOT_SUBMITTED.formatted("s.batch_no = 1"),
+        NOT_SUBMITTED.formatted("s.batch_no = 2"),
+        "SELECT COUNT(*) FROM sign_up s WHERE s.fee_control_number IS NOT NULL AND s.role = 0",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.nhif_control_number IS NOT NULL AND s.role = 0 AND s.batch_no = 2",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.fee_control_number IS NOT NULL AND s.role = 0 AND s.batch_no = 1",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.fee_control_number IS NOT NULL AND s.role = 0 AND s.batch_no = 2",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.nhif_control_number IS NOT NULL AND s.role = 0 AND s.batch_no = 1",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.nhif_control_number IS NOT NULL AND s.role = 0 AND s.batch_no = 2",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.fee_control_number IS NULL AND s.role = 0",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.nhif_control_number IS NULL AND s.role = 0",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.fee_control_number IS NULL AND s.role = 0 AND s.batch_no = 1",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.fee_control_number IS NULL AND s.role = 0 AND s.batch_no = 2",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.nhif_control_number IS NULL AND s.role = 0 AND s.batch_no = 1",
+        "SELECT COUNT(*) FROM sign_up s WHERE s.nhif_control_number IS NULL AND s.role = 0 AND s.batch_no = 2");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SignUpRepository signUpRepository;
+
+    @BeforeAll
+    void seed() {
+        long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM sign_up", Long.class);
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> results = new ArrayList<>();
+        for (long n = 1; n <= STUDENTS; n++) {
+            long id = lastId + n;
+            String name = "Benchmark Student " + n;
+            String email = "benchmark" + n + "@test.com";
+            students.add(new Object[] {id, email, name, (int) (n % 2) + 1,
+                n % 3 == 0 ? null : String.format("99%010d", n), n % 4 == 0 ? null : String.format("88%010d", n)});
+            // Every other student has uploaded, cycling through submitted, approved and rejected.
+            if (n % 2 == 0) {
+                results.add(new Object[] {id, name, email, (int) (n / 2 % 3) + 1, "result-" + n + ".pdf"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO sign_up (id, email, name, role, batch_no, fee_control_number, nhif_control_number, version) "
+            + "VALUES (?, ?, ?, 0, ?, ?, ?, 0)", students);
+        jdbcTemplate.batchUpdate("INSERT INTO results (student_id, student, email, status, file_name, file_size) "
+            + "VALUES (?, ?, ?, ?, ?, 0)", results);
+    }
+
+    @Test
+    void groupedQueryAgainstLegacyCounts() {
+        long[] legacy = time(() -> LEGACY_COUNTS.forEach(sql -> jdbcTemplate.queryForObject(sql, Long.class)));
+        long[] grouped = time(signUpRepository::countDashboardByBatch);
+
+        log.info("Dashboard counters over {} students, median of {} runs: {} legacy COUNT queries {} ms, grouped query {} ms",
+            STUDENTS, ITERATIONS, LEGACY_COUNTS.size(), median(legacy), median(grouped));
+
+        long students = signUpRepository.countDashboardByBatch().stream().mapToLong(BatchCountsDTO::getStudents).sum();
+        assertThat(students).isEqualTo(jdbcTemplate.queryForObject(LEGACY_COUNTS.get(0), Long.class));
+    }
+
+    private long[] time(Runnable run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.run();
+        }
+        long[] millis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        return millis;
+    }
+
+    private static long median(long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
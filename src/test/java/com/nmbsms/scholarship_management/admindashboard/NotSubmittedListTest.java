@@ -0,0 +1,74 @@
+package com.nmbsms.scholarship_management.admindashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.results.ResultStatus;
+import com.nmbsms.scholarship_management.results.Results;
+import com.nmbsms.scholarship_management.results.ResultsRepository;
+import com.nmbsms.scholarship_management.signUp.BatchCountsDTO;
+import com.nmbsms.scholarship_management.signUp.NotSubmittedDTO;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * The not-submitted list and the dashboard counter next to it must agree on who has not submitted.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotSubmittedListTest {
+    private static final int BATCH = 88;
+
+    @Autowired
+    private ResultsRepository resultsRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+
+    @Test
+    void listMatchesDashboardCounter() {
+        student("list-none@test.com", null);
+        student("list-approved@test.com", ResultStatus.APPROVED);
+        student("list-pending@test.com", ResultStatus.PENDING_VALIDATION);
+        student("list-invalid@test.com", ResultStatus.INVALID);
+        student("list-submitted@test.com", ResultStatus.SUBMITTED);
+        student("list-rejected@test.com", ResultStatus.REJECTED);
+
+        List<String> listed = signUpRepository.findNotSubmitted(BATCH - 1, null, PageRequest.of(0, 100)).stream()
+            .filter(student -> student.getBatchNo() == BATCH)
+            .map(NotSubmittedDTO::getEmail)
+            .toList();
+        BatchCountsDTO counted = signUpRepository.countDashboardByBatch().stream()
+            .filter(batch -> batch.getBatchNo() == BATCH).findFirst().orElseThrow();
+
+        assertThat(listed).containsExactlyInAnyOrder("list-none@test.com", "list-approved@test.com", "list-pending@test.com", "list-invalid@test.com");
+        assertThat(counted.getNotSubmitted()).isEqualTo(listed.size());
+    }
+
+    private void student(String email, ResultStatus status) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(BATCH);
+        signUpRepository.save(student);
+        if (status == null) {
+            return;
+        }
+        Results result = new Results();
+        result.setUser(student);
+        result.setStudent(email);
+        result.setEmail(email);
+        result.setFileName(email + ".pdf");
+        result.setFilePath(email + ".pdf");
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(status);
+        resultsRepository.save(result);
+    }
+}
@@ -0,0 +1,96 @@
+package com.nmbsms.scholarship_management.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import com.nmbsms.scholarship_management.settings.NotificationsService;
+import com.nmbsms.scholarship_management.settings.PaymentNotificationDTO;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * With rewriteBatchedStatements MySQL reports SUCCESS_NO_INFO for every row of the batch. A row the
+ * conditional UPDATE did not match must still come back as a conflict, without a ledger event or a
+ * notification.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentBulkUpdateTest {
+    @Autowired
+    private PaymentBulkUpdateService paymentBulkUpdateService;
+    @Autowired
+    private PaymentEventRepository paymentEventRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private NotificationsService notificationsService;
+
+    @Test
+    void rowsReportedWithoutCountAreRechecked() {
+        SignUp applied = student("no-info-applied@test.com", "300000000001");
+        SignUp changed = student("no-info-changed@test.com", "300000000002");
+
+        // Another request moves the second student on before the batch runs, then the driver hides the counts.
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (sql.startsWith("UPDATE sign_up")) {
+                jdbcTemplate.update("UPDATE sign_up SET fee_payment_status = ? WHERE id = ?",
+                    PaymentStatus.SUBMITTED.getCode(), changed.getId());
+            }
+            int[][] counts = (int[][]) invocation.callRealMethod();
+            for (int[] batch : counts) {
+                Arrays.fill(batch, Statement.SUCCESS_NO_INFO);
+            }
+            return counts;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        List<PaymentStatusUpdateResultDTO> results = paymentBulkUpdateService.updatePaymentStatuses(List.of(
+            new PaymentStatusUpdateDTO(applied.getEmail(), "Fee", "PAID"),
+            new PaymentStatusUpdateDTO(changed.getEmail(), "Fee", "PAID")));
+
+        assertThat(results).extracting(PaymentStatusUpdateResultDTO::getOutcome)
+            .containsExactly(BulkUpdateOutcome.UPDATED, BulkUpdateOutcome.CONFLICT);
+        assertThat(paymentEventRepository.findHistory(applied.getId(), null, PageRequest.of(0, 10))).hasSize(1);
+        assertThat(paymentEventRepository.findHistory(changed.getId(), null, PageRequest.of(0, 10))).isEmpty();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentNotificationDTO>> sent = ArgumentCaptor.forClass(List.class);
+        verify(notificationsService, atLeastOnce()).notifyUsersOfPaymentStatusChange(sent.capture());
+        assertThat(sent.getAllValues()).flatMap(notifications -> notifications)
+            .extracting(PaymentNotificationDTO::getEmail)
+            .containsExactly(applied.getEmail());
+    }
+
+    private SignUp student(String email, String feeControlNumber) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        student.setFeeControlNumber(feeControlNumber);
+        student.setFeePaymentStatus(PaymentStatus.UNPAID);
+        return signUpRepository.save(student);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nmbsms.scholarship_management.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentLedgerTest {
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+    @Autowired
+    private PaymentBulkUpdateService paymentBulkUpdateService;
+    @Autowired
+    private PaymentEventRepository paymentEventRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+
+    @Test
+    void bulkStatusChangeIsRecordedAsStatusChanged() {
+        SignUp student = student("ledger-bulk@test.com", "200000000001");
+
+        paymentBulkUpdateService.updatePaymentStatuses(List.of(new PaymentStatusUpdateDTO("ledger-bulk@test.com", "Fee", "PAID")));
+
+        assertThat(history(student.getId()))
+            .extracting(PaymentEvent::getEventType)
+            .containsExactly(PaymentEventType.STATUS_CHANGED);
+    }
+
+    @Test
+    void batchInsertKeepsEachEventsType() {
+        SignUp student = student("ledger-batch@test.com", "200000000002");
+
+        paymentLedgerService.recordStatusChanges(List.of(
+            event(student.getId(), PaymentEventType.CONTROL_NUMBER_SUBMITTED, PaymentStatus.UNPAID),
+            event(student.getId(), PaymentEventType.STATUS_CHANGED, PaymentStatus.PAID)));
+
+        assertThat(history(student.getId()))
+            .extracting(PaymentEvent::getEventType)
+            .containsExactly(PaymentEventType.STATUS_CHANGED, PaymentEventType.CONTROL_NUMBER_SUBMITTED);
+    }
+
+    private List<PaymentEvent> history(Long studentId) {
+        return paymentEventRepository.findHistory(studentId, null, PageRequest.of(0, 10));
+    }
+
+    private static PaymentEvent event(Long studentId, PaymentEventType eventType, PaymentStatus status) {
+        return PaymentEvent.builder()
+            .studentId(studentId)
+            .paymentType(PaymentType.FEE)
+            .eventType(eventType)
+            .controlNumber("200000000002")
+            .status(status)
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+
+    private SignUp student(String email, String feeControlNumber) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        student.setFeeControlNumber(feeControlNumber);
+        student.setFeePaymentStatus(PaymentStatus.UNPAID);
+        return signUpRepository.save(student);
+    }
+}
@@ -0,0 +1,67 @@
+package com.nmbsms.scholarship_management.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import com.nmbsms.scholarship_management.settings.NotificationsService;
+import com.nmbsms.scholarship_management.settings.PaymentNotificationDTO;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentNotificationTest {
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private PaymentBulkUpdateService paymentBulkUpdateService;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @MockitoBean
+    private NotificationsService notificationsService;
+
+    @Test
+    void unpaidToPaidNotifiesTheStudent() {
+        student("single@test.com", "100000000001");
+
+        paymentService.updatePaymentStatus("single@test.com", "Fee", "PAID");
+
+        verify(notificationsService).notifyUserOfPaymentStatusChange(any(SignUp.class), eq("University Fee Payment"));
+    }
+
+    @Test
+    void bulkUnpaidToPaidNotifiesTheStudent() {
+        student("bulk@test.com", "100000000002");
+
+        paymentBulkUpdateService.updatePaymentStatuses(List.of(new PaymentStatusUpdateDTO("bulk@test.com", "Fee", "PAID")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentNotificationDTO>> sent = ArgumentCaptor.forClass(List.class);
+        verify(notificationsService, atLeastOnce()).notifyUsersOfPaymentStatusChange(sent.capture());
+        assertThat(sent.getAllValues()).flatMap(notifications -> notifications)
+            .extracting(PaymentNotificationDTO::getEmail)
+            .containsExactly("bulk@test.com");
+    }
+
+    private void student(String email, String feeControlNumber) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        student.setFeeControlNumber(feeControlNumber);
+        student.setFeePaymentStatus(PaymentStatus.UNPAID);
+        signUpRepository.save(student);
+    }
+}
@@ -0,0 +1,73 @@
+package com.nmbsms.scholarship_management.payment;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import com.nmbsms.scholarship_management.security.JwtService;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * Bank exports are far larger than student documents, so the reconcile upload is capped by its own
+ * limit rather than file.upload.max-file-size.
+ */
+@SpringBootTest(properties = {"file.upload.max-file-size=1KB", "payments.reconcile.max-file-size=64KB"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaymentReconciliationUploadTest {
+    private static final String BOUNDARY = "test-boundary";
+    private static final int LINES = 400;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private SignUpRepository signUpRepository;
+
+    @Test
+    void csvLargerThanTheDocumentLimitIsReconciled() throws Exception {
+        StringBuilder csv = new StringBuilder("control_number,amount\n");
+        for (int i = 0; i < LINES; i++) {
+            csv.append(String.format("77%010d", i)).append(",1000\n");
+        }
+
+        mockMvc.perform(post("/api/payment/reconcile")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(admin(), UserRoles.ADMIN))
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(filePart("paid.csv", csv.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.linesRead").value(LINES + 1))
+            .andExpect(jsonPath("$.unmatchedCount").value(LINES));
+    }
+
+    private static byte[] filePart(String fileName, String content) {
+        return ("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: text/csv\r\n\r\n"
+            + content + "\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String admin() {
+        String email = "reconcile-admin@test.com";
+        if (signUpRepository.findByEmail(email).isEmpty()) {
+            SignUp admin = new SignUp();
+            admin.setEmail(email);
+            admin.setName(email);
+            admin.setRole(UserRoles.ADMIN);
+            admin.setBatchNo(1);
+            signUpRepository.save(admin);
+        }
+        return email;
+    }
+}
@@ -0,0 +1,91 @@
+package com.nmbsms.scholarship_management.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * Counts the SQL statements a control number submission costs. Loading and saving the whole
+ * SignUp took 7; the projection plus conditional update takes 5, and must stay there under load.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PaymentSubmissionLoadTest {
+    private static final long STATEMENTS_PER_SUBMISSION = 5;
+    private static final int STUDENTS = 200;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void singleSubmissionStaysWithinStatementBudget() {
+        student("load-single@test.com");
+        statistics.clear();
+
+        paymentService.submitFeeControlNumber(new PaymentDTO("300000000000", null), "load-single@test.com");
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(STATEMENTS_PER_SUBMISSION);
+    }
+
+    @Test
+    void concurrentSubmissionsStayWithinStatementBudget() throws Exception {
+        for (int i = 0; i < STUDENTS; i++) {
+            student("load-" + i + "@test.com");
+        }
+        statistics.clear();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> submissions = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                String email = "load-" + i + "@test.com";
+                String controlNumber = String.format("31%010d", i);
+                submissions.add(pool.submit(() -> paymentService
+                    .submitFeeControlNumber(new PaymentDTO(controlNumber, null), email).getStatusCode().value()));
+            }
+            for (Future<Integer> submission : submissions) {
+                assertThat(submission.get()).isEqualTo(200);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(STATEMENTS_PER_SUBMISSION * STUDENTS);
+    }
+
+    private void student(String email) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        signUpRepository.save(student);
+    }
+}
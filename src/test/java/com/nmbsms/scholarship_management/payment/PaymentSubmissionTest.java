@@ -0,0 +1,67 @@
+package com.nmbsms.scholarship_management.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.nmbsms.scholarship_management.exception.InvalidStatusTransitionException;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentSubmissionTest {
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void paidFeeCannotBeResubmitted() {
+        student("paid@test.com", "200000000001", PaymentStatus.PAID);
+
+        assertThrows(InvalidStatusTransitionException.class,
+            () -> paymentService.submitFeeControlNumber(new PaymentDTO("200000000002", null), "paid@test.com"));
+
+        SignUp student = signUpRepository.findByEmail("paid@test.com").orElseThrow();
+        assertThat(student.getFeePaymentStatus()).isEqualTo(PaymentStatus.PAID);
+        assertThat(student.getFeeControlNumber()).isEqualTo("200000000001");
+    }
+
+    @Test
+    void conditionalUpdateLeavesPaidRowsAlone() {
+        SignUp student = student("paid-race@test.com", "200000000003", PaymentStatus.PAID);
+
+        Integer updated = transactionTemplate.execute(status ->
+            signUpRepository.submitFeeControlNumber("paid-race@test.com", student.getVersion(), "200000000004"));
+
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    void unpaidFeeCanBeResubmitted() {
+        student("unpaid@test.com", "200000000005", PaymentStatus.UNPAID);
+
+        assertThat(paymentService.submitFeeControlNumber(new PaymentDTO("200000000006", null), "unpaid@test.com")
+            .getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(signUpRepository.findByEmail("unpaid@test.com").orElseThrow().getFeeControlNumber()).isEqualTo("200000000006");
+    }
+
+    private SignUp student(String email, String feeControlNumber, PaymentStatus feePaymentStatus) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        student.setFeeControlNumber(feeControlNumber);
+        student.setFeePaymentStatus(feePaymentStatus);
+        return signUpRepository.save(student);
+    }
+}
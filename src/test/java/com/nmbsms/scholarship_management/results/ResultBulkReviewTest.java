@@ -0,0 +1,89 @@
+package com.nmbsms.scholarship_management.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import com.nmbsms.scholarship_management.admindashboard.DashboardCounterService;
+import com.nmbsms.scholarship_management.admindashboard.EmailService;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * A result deleted after the bulk review first reads its chunk must come back NOT_FOUND and stay out
+ * of the student's summary email.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ResultBulkReviewTest {
+    @Autowired
+    private ResultBulkReviewService resultBulkReviewService;
+    @Autowired
+    private ResultService resultService;
+    @Autowired
+    private ResultsRepository resultsRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @MockitoSpyBean
+    private DashboardCounterService dashboardCounterService;
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void resultDeletedDuringReviewIsNotReportedUpdated() {
+        SignUp student = student("bulk-review@test.com");
+        long kept = result(student, "bulk-review-kept.pdf");
+        long deleted = result(student, "bulk-review-deleted.pdf");
+
+        // The delete commits from another transaction between the first read of the chunk and the locks.
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    resultService.deleteResult("bulk-review-deleted.pdf");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).join();
+            return invocation.callRealMethod();
+        }).when(dashboardCounterService).snapshotResults(anyCollection());
+
+        List<ResultStatusUpdateResultDTO> results = resultBulkReviewService.updateResultStatuses(
+            new ResultStatusBulkUpdateDTO(List.of(kept, deleted), "APPROVED"));
+
+        assertThat(results).extracting(ResultStatusUpdateResultDTO::getOutcome)
+            .containsExactly(ResultReviewOutcome.UPDATED, ResultReviewOutcome.NOT_FOUND);
+        verify(emailService).sendStatusSummary(student.getEmail(), List.of("bulk-review-kept.pdf: APPROVED"));
+    }
+
+    private SignUp student(String email) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        return signUpRepository.save(student);
+    }
+
+    private long result(SignUp student, String fileName) {
+        Results result = new Results();
+        result.setUser(student);
+        result.setStudent(student.getName());
+        result.setEmail(student.getEmail());
+        result.setFileName(fileName);
+        result.setFilePath(fileName);
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(ResultStatus.SUBMITTED);
+        return resultsRepository.save(result).getResultId();
+    }
+}
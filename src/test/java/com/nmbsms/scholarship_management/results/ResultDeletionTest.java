@@ -0,0 +1,78 @@
+package com.nmbsms.scholarship_management.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+import com.nmbsms.scholarship_management.storage.ContentStore;
+import com.nmbsms.scholarship_management.storage.StoredFile;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ResultDeletionTest {
+    @Autowired
+    private ResultService resultService;
+    @Autowired
+    private ResultsRepository resultsRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @Autowired
+    private ContentStore contentStore;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void contentAddressedFileIsLeftForTheSweeper() throws IOException {
+        StoredFile stored = contentStore.store(dir, new ByteArrayInputStream("%PDF-shared".getBytes(StandardCharsets.US_ASCII)));
+        result("shared@test.com", "shared.pdf", stored.getPath(), stored.getHash());
+
+        resultService.deleteResult("shared.pdf");
+
+        assertThat(resultsRepository.findByFileName("shared.pdf")).isEmpty();
+        assertThat(stored.getPath()).exists();
+    }
+
+    @Test
+    void legacyFileIsDeletedWithItsResult() throws IOException {
+        Path legacy = Files.writeString(dir.resolve("legacy.pdf"), "%PDF-legacy");
+        result("legacy@test.com", "legacy.pdf", legacy, null);
+
+        resultService.deleteResult("legacy.pdf");
+
+        assertThat(resultsRepository.findByFileName("legacy.pdf")).isEmpty();
+        assertThat(legacy).doesNotExist();
+    }
+
+    private void result(String email, String fileName, Path file, String contentHash) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        signUpRepository.save(student);
+
+        Results result = new Results();
+        result.setUser(student);
+        result.setStudent(email);
+        result.setEmail(email);
+        result.setFileName(fileName);
+        result.setFilePath(file.toString());
+        result.setContentHash(contentHash);
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(ResultStatus.SUBMITTED);
+        resultsRepository.save(result);
+    }
+}
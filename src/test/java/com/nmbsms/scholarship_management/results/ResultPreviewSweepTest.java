@@ -0,0 +1,68 @@
+package com.nmbsms.scholarship_management.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+/**
+ * The preview sweep only needs a result's id, hash and path. Loading whole Results rows pulled in
+ * each student and their notification preferences one query at a time.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ResultPreviewSweepTest {
+    private static final int RESULTS = 5;
+
+    @Autowired
+    private ResultPreviewService resultPreviewService;
+    @Autowired
+    private ResultsRepository resultsRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void sweepDoesNotLoadStudents() {
+        for (int i = 0; i < RESULTS; i++) {
+            result("preview-" + i + "@test.com", "%064d".formatted(i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        resultPreviewService.renderMissing();
+
+        assertThat(statistics.getEntityStatistics(SignUp.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Results.class.getName()).getLoadCount()).isZero();
+    }
+
+    private void result(String email, String contentHash) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        signUpRepository.save(student);
+
+        Results result = new Results();
+        result.setUser(student);
+        result.setStudent(email);
+        result.setEmail(email);
+        result.setFileName(email + ".pdf");
+        result.setFilePath("missing/" + email + ".pdf");
+        result.setContentHash(contentHash);
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(ResultStatus.SUBMITTED);
+        resultsRepository.save(result);
+    }
+}
@@ -0,0 +1,133 @@
+package com.nmbsms.scholarship_management.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.exception.UploadOffsetMismatchException;
+import jakarta.persistence.EntityNotFoundException;
+
+@SpringBootTest(properties = "results.upload.chunk-size=8B")
+@ActiveProfiles("test")
+class ResultUploadServiceTest {
+    private static final byte[] CONTENT = "%PDF-0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private ResultUploadService resultUploadService;
+
+    @Test
+    void chunksAreAppendedInOrderAndRetriesAreIgnored() throws IOException {
+        UploadSessionDTO session = open("ordered@test.com");
+
+        resultUploadService.writeChunk("ordered@test.com", session.getUploadId(), 0, chunk(0));
+        assertThrows(UploadOffsetMismatchException.class,
+            () -> resultUploadService.writeChunk("ordered@test.com", session.getUploadId(), 2, chunk(2)));
+        resultUploadService.writeChunk("ordered@test.com", session.getUploadId(), 0, chunk(0));
+        resultUploadService.writeChunk("ordered@test.com", session.getUploadId(), 1, chunk(1));
+        UploadSessionDTO done = resultUploadService.writeChunk("ordered@test.com", session.getUploadId(), 2, chunk(2));
+
+        assertThat(done.isComplete()).isTrue();
+        assertThat(done.getReceivedBytes()).isEqualTo(CONTENT.length);
+    }
+
+    @Test
+    void slowChunkDoesNotBlockAnotherUploadOnTheSameStripe() throws Exception {
+        UploadSessionDTO slow = open("slow@test.com");
+        UploadSessionDTO fast = open("fast@test.com");
+        while (stripe(fast) != stripe(slow)) {
+            resultUploadService.cancel("fast@test.com", fast.getUploadId());
+            fast = open("fast@test.com");
+        }
+        String fastId = fast.getUploadId();
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream stalled = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == 4) {
+                    reading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                return position < 8 ? CONTENT[position++] : -1;
+            }
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<UploadSessionDTO> slowWrite = pool.submit(
+                () -> resultUploadService.writeChunk("slow@test.com", slow.getUploadId(), 0, stalled));
+            assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<UploadSessionDTO> fastWrite = pool.submit(
+                () -> resultUploadService.writeChunk("fast@test.com", fastId, 0, chunk(0)));
+            assertThat(fastWrite.get(5, TimeUnit.SECONDS).getReceivedBytes()).isEqualTo(8);
+
+            release.countDown();
+            assertThat(slowWrite.get(5, TimeUnit.SECONDS).getReceivedBytes()).isEqualTo(8);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void completingANonPdfIsRejectedAndDiscardsTheSession() throws IOException {
+        byte[] text = "plain text, not a pdf".getBytes(StandardCharsets.US_ASCII);
+        UploadSessionDTO session = resultUploadService.createSession("not-pdf@test.com",
+            new UploadSessionRequestDTO("result.pdf", (long) text.length, null));
+        for (int index = 0; index * 8 < text.length; index++) {
+            resultUploadService.writeChunk("not-pdf@test.com", session.getUploadId(), index,
+                new ByteArrayInputStream(text, index * 8, Math.min(8, text.length - index * 8)));
+        }
+
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+            () -> resultUploadService.complete("not-pdf@test.com", session.getUploadId(), sha256(text)));
+
+        assertThat(rejected).hasMessage("Only PDF files are allowed.");
+        assertThrows(EntityNotFoundException.class,
+            () -> resultUploadService.getSession("not-pdf@test.com", session.getUploadId()));
+    }
+
+    private UploadSessionDTO open(String email) throws IOException {
+        return resultUploadService.createSession(email, new UploadSessionRequestDTO("result.pdf", (long) CONTENT.length, null));
+    }
+
+    private static InputStream chunk(int index) {
+        int from = index * 8;
+        return new ByteArrayInputStream(CONTENT, from, Math.min(8, CONTENT.length - from));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int stripe(UploadSessionDTO session) {
+        return Math.floorMod(session.getUploadId().hashCode(), ResultUploadService.LOCK_STRIPES);
+    }
+}
@@ -0,0 +1,111 @@
+package com.nmbsms.scholarship_management.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import com.nmbsms.scholarship_management.admindashboard.EmailService;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+@SpringBootTest(properties = "results.validation.max-attempts=2")
+@ActiveProfiles("test")
+class ResultValidationServiceTest {
+    @Autowired
+    private ResultValidationService resultValidationService;
+    @Autowired
+    private ResultsRepository resultsRepository;
+    @Autowired
+    private SignUpRepository signUpRepository;
+    @MockitoBean
+    private EmailService emailService;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void wellFormedPdfIsSubmitted() throws IOException {
+        long resultId = pendingResult("valid@test.com", write("valid.pdf", pdf()));
+
+        resultValidationService.validate(resultId);
+
+        Results result = resultsRepository.findByResultId(resultId).orElseThrow();
+        assertThat(result.getStatus()).isEqualTo(ResultStatus.SUBMITTED);
+        assertThat(result.getPageCount()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedPdfIsRejectedOnTheFirstAttempt() throws IOException {
+        long resultId = pendingResult("malformed@test.com",
+            write("malformed.pdf", "%PDF-1.7\n1 0 obj << /Type /Catalog /Pages 9 0 R >>\n%%EOF".getBytes(StandardCharsets.US_ASCII)));
+
+        resultValidationService.validate(resultId);
+
+        assertThat(resultsRepository.findByResultId(resultId).orElseThrow().getStatus()).isEqualTo(ResultStatus.INVALID);
+        verify(emailService).sendStatusUpdate("malformed@test.com", ResultStatus.INVALID.name());
+    }
+
+    @Test
+    void unreadableFileIsRetriedBeforeBeingRejected() {
+        long resultId = pendingResult("unreadable@test.com", dir.resolve("missing.pdf"));
+
+        resultValidationService.validate(resultId);
+
+        Results afterFirst = resultsRepository.findByResultId(resultId).orElseThrow();
+        assertThat(afterFirst.getStatus()).isEqualTo(ResultStatus.PENDING_VALIDATION);
+        assertThat(afterFirst.getValidationAttempts()).isEqualTo(1);
+        verify(emailService, never()).sendStatusUpdate(anyString(), anyString());
+
+        resultValidationService.validate(resultId);
+
+        assertThat(resultsRepository.findByResultId(resultId).orElseThrow().getStatus()).isEqualTo(ResultStatus.INVALID);
+        verify(emailService).sendStatusUpdate("unreadable@test.com", ResultStatus.INVALID.name());
+    }
+
+    private long pendingResult(String email, Path file) {
+        SignUp student = new SignUp();
+        student.setEmail(email);
+        student.setName(email);
+        student.setRole(UserRoles.STUDENT);
+        student.setBatchNo(1);
+        signUpRepository.save(student);
+
+        Results result = new Results();
+        result.setUser(student);
+        result.setStudent(email);
+        result.setEmail(email);
+        result.setFileName(file.getFileName().toString());
+        result.setFilePath(file.toString());
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(ResultStatus.PENDING_VALIDATION);
+        return resultsRepository.save(result).getResultId();
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content);
+    }
+
+    private static byte[] pdf() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.addPage(new PDPage());
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.nmbsms.scholarship_management.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import com.nmbsms.scholarship_management.signUp.SignUp;
+import com.nmbsms.scholarship_management.signUp.SignUpRepository;
+import com.nmbsms.scholarship_management.signUp.UserRoles;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminEndpointSecurityTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private SignUpRepository signUpRepository;
+
+    private static final String BOUNDARY = "test-boundary";
+
+    private String studentToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        studentToken = "Bearer " + jwtService.generateToken(user("student@test.com", UserRoles.STUDENT), UserRoles.STUDENT);
+        adminToken = "Bearer " + jwtService.generateToken(user("admin@test.com", UserRoles.ADMIN), UserRoles.ADMIN);
+    }
+
+    @Test
+    void studentCannotReviewResultsInBulk() throws Exception {
+        mockMvc.perform(post("/api/results/changeStatus/bulk")
+                .header(HttpHeaders.AUTHORIZATION, studentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"resultIds\":[1],\"newStatus\":\"APPROVED\"}"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanReviewResultsInBulk() throws Exception {
+        mockMvc.perform(post("/api/results/changeStatus/bulk")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"resultIds\":[1],\"newStatus\":\"APPROVED\"}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentCannotUpdatePaymentStatusesInBulk() throws Exception {
+        mockMvc.perform(post("/api/payment/update-status/bulk")
+                .header(HttpHeaders.AUTHORIZATION, studentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"email\":\"student@test.com\",\"paymentType\":\"Fee\",\"newStatus\":\"PAID\"}]"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanUpdatePaymentStatusesInBulk() throws Exception {
+        mockMvc.perform(post("/api/payment/update-status/bulk")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"email\":\"nobody@test.com\",\"paymentType\":\"Fee\",\"newStatus\":\"PAID\"}]"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentCannotReconcilePaidControlNumbers() throws Exception {
+        mockMvc.perform(post("/api/payment/reconcile")
+                .header(HttpHeaders.AUTHORIZATION, studentToken)
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(filePart("paid.csv", "123456789012\n")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanReconcilePaidControlNumbers() throws Exception {
+        mockMvc.perform(post("/api/payment/reconcile")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(filePart("paid.csv", "123456789012\n")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentCannotExportStudents() throws Exception {
+        mockMvc.perform(get("/api/admin/export/students")
+                .header(HttpHeaders.AUTHORIZATION, studentToken))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanExportStudents() throws Exception {
+        mockMvc.perform(get("/api/admin/export/students")
+                .header(HttpHeaders.AUTHORIZATION, adminToken))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentCannotDownloadBatchArchive() throws Exception {
+        mockMvc.perform(get("/api/results/batch/1/archive")
+                .header(HttpHeaders.AUTHORIZATION, studentToken))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanDownloadBatchArchive() throws Exception {
+        mockMvc.perform(get("/api/results/batch/1/archive")
+                .header(HttpHeaders.AUTHORIZATION, adminToken))
+            .andExpect(status().isOk());
+    }
+
+    // Uploads are parsed straight off the request body, so the multipart payload is written out by hand.
+    private static byte[] filePart(String fileName, String content) {
+        return ("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: text/csv\r\n\r\n"
+            + content + "\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String user(String email, UserRoles role) {
+        if (signUpRepository.findByEmail(email).isEmpty()) {
+            SignUp user = new SignUp();
+            user.setEmail(email);
+            user.setName(email);
+            user.setRole(role);
+            user.setBatchNo(1);
+            signUpRepository.save(user);
+        }
+        return email;
+    }
+}
@@ -0,0 +1,79 @@
+package com.nmbsms.scholarship_management.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.nmbsms.scholarship_management.configuration.FileStorageConfig;
+import com.nmbsms.scholarship_management.results.ResultStatus;
+import com.nmbsms.scholarship_management.results.ResultUploadService;
+import com.nmbsms.scholarship_management.results.Results;
+import com.nmbsms.scholarship_management.results.ResultsRepository;
+import com.nmbsms.scholarship_management.results.UploadSessionDTO;
+import com.nmbsms.scholarship_management.results.UploadSessionRequestDTO;
+
+@SpringBootTest(properties = "file.orphan-sweep.grace-hours=1")
+@ActiveProfiles("test")
+class OrphanFileSweeperTest {
+    @Autowired
+    private OrphanFileSweeper orphanFileSweeper;
+    @Autowired
+    private ResultUploadService resultUploadService;
+    @Autowired
+    private ContentStore contentStore;
+    @Autowired
+    private FileStorageConfig fileStorageConfig;
+    @Autowired
+    private ResultsRepository resultsRepository;
+
+    @Test
+    void stagingFilesOfLiveSessionsOutlastTheGracePeriod() throws IOException {
+        UploadSessionDTO session = resultUploadService.createSession("sweep@test.com",
+            new UploadSessionRequestDTO("result.pdf", 10L, null));
+        Path tempDir = contentStore.tempDir(Paths.get(fileStorageConfig.getUploadDir()));
+        Path live = tempDir.resolve(ResultUploadService.STAGING_PREFIX + session.getUploadId() + ResultUploadService.STAGING_SUFFIX);
+        Path abandoned = Files.createFile(tempDir.resolve(ResultUploadService.STAGING_PREFIX + "gone" + ResultUploadService.STAGING_SUFFIX));
+        Path leftover = Files.createFile(tempDir.resolve("upload-leftover.part"));
+        for (Path file : new Path[] {live, abandoned, leftover}) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        }
+
+        orphanFileSweeper.sweep();
+
+        assertThat(live).exists();
+        assertThat(abandoned).doesNotExist();
+        assertThat(leftover).doesNotExist();
+    }
+
+    @Test
+    void legacyFilesAreKeptOnlyWhileARowPointsAtThem() throws IOException {
+        Path results = Files.createDirectories(Paths.get(fileStorageConfig.getUploadDir()).resolve("results"));
+        Path referenced = Files.writeString(results.resolve("legacy-referenced.pdf"), "%PDF-legacy");
+        Path stray = Files.writeString(results.resolve("legacy-stray.pdf"), "%PDF-stray");
+        for (Path file : new Path[] {referenced, stray}) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        }
+        Results result = new Results();
+        result.setEmail("legacy-sweep@test.com");
+        result.setFileName("legacy-referenced.pdf");
+        result.setFilePath(referenced.toString());
+        result.setUploadTime(LocalDateTime.now());
+        result.setStatus(ResultStatus.SUBMITTED);
+        resultsRepository.save(result);
+
+        orphanFileSweeper.sweep();
+
+        assertThat(referenced).exists();
+        assertThat(stray).doesNotExist();
+    }
+}